@@ -0,0 +1,44 @@
+package org.vaadin.grid.cellrenderers.benchmark;
+
+import java.util.Random;
+
+/**
+ * Helpers for generating the value distributions used by the benchmarks.
+ * Values are pre-generated into arrays of {@link #SIZE} elements, which the
+ * benchmarks cycle through, so that value generation does not show up in the
+ * measurement and the JIT can not constant fold a single value.
+ */
+final class BenchmarkData {
+
+	/**
+	 * Number of pre-generated values, must be power of two
+	 */
+	static final int SIZE = 1024;
+	static final int MASK = SIZE - 1;
+
+	/**
+	 * Fixed seed so that every run encodes the same data
+	 */
+	static final long SEED = 42L;
+
+	private BenchmarkData() {
+	}
+
+	static Random random() {
+		return new Random(SEED);
+	}
+
+	/**
+	 * Pick index of a value with skewed distribution, i.e. few values are much
+	 * more common than the rest, which is typical for e.g. status or currency
+	 * columns.
+	 * 
+	 * @param random The random generator
+	 * @param cardinality Number of distinct values
+	 * @return Index between 0 and cardinality - 1
+	 */
+	static int skewedIndex(Random random, int cardinality) {
+		double d = random.nextDouble();
+		return (int) (d * d * cardinality);
+	}
+}
@@ -0,0 +1,35 @@
+package org.vaadin.grid.cellrenderers.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Runs all renderer benchmarks (or the ones
+ * matching the include pattern given as argument) with the GC profiler enabled,
+ * so that allocation rate per encode call (gc.alloc.rate.norm) is reported
+ * together with the throughput.
+ * 
+ * Usage: java -jar target/benchmarks.jar [JMH options] [include regexp]
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		OptionsBuilder builder = new OptionsBuilder();
+		if (commandLine.getIncludes().isEmpty()) {
+			builder.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+		}
+		Options options = builder.parent(commandLine)
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+
+}
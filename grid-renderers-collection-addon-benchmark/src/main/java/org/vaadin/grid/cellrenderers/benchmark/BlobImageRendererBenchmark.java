@@ -0,0 +1,58 @@
+package org.vaadin.grid.cellrenderers.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.grid.cellrenderers.view.BlobImageRenderer;
+
+import elemental.json.JsonValue;
+
+/**
+ * Encode cost of {@link BlobImageRenderer}. The imageSize parameter is the
+ * size of the blob in bytes, ranging from an icon to a photo. A small pool of
+ * distinct images is used, as images typically repeat (avatars etc.).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlobImageRendererBenchmark {
+
+	private static final int DISTINCT_IMAGES = 16;
+
+	@Param({ "1024", "32768", "1048576" })
+	public int imageSize;
+
+	private BlobImageRenderer<Object> renderer;
+	private byte[][] images;
+	private int index;
+
+	@Setup
+	public void setup() {
+		renderer = new BlobImageRenderer<>(40, 40);
+		Random random = BenchmarkData.random();
+		images = new byte[DISTINCT_IMAGES][];
+		for (int i = 0; i < DISTINCT_IMAGES; i++) {
+			images[i] = new byte[imageSize];
+			random.nextBytes(images[i]);
+		}
+	}
+
+	@Benchmark
+	public JsonValue encode() {
+		return renderer.encode(images[index++ & (DISTINCT_IMAGES - 1)]);
+	}
+}
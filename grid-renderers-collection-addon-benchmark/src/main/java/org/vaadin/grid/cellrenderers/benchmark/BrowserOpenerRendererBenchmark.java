@@ -0,0 +1,62 @@
+package org.vaadin.grid.cellrenderers.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.grid.cellrenderers.action.BrowserOpenerRenderer;
+
+import com.vaadin.server.ExternalResource;
+
+import elemental.json.JsonValue;
+
+/**
+ * Encode cost of {@link BrowserOpenerRenderer} with String urls and with
+ * ExternalResource values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BrowserOpenerRendererBenchmark {
+
+	private BrowserOpenerRenderer<Object, String> urlRenderer;
+	private BrowserOpenerRenderer<Object, ExternalResource> resourceRenderer;
+	private String[] urls;
+	private ExternalResource[] resources;
+	private int index;
+
+	@Setup
+	public void setup() {
+		urlRenderer = new BrowserOpenerRenderer<>("Open", event -> {});
+		resourceRenderer = new BrowserOpenerRenderer<>("Open", event -> {});
+		Random random = BenchmarkData.random();
+		urls = new String[BenchmarkData.SIZE];
+		resources = new ExternalResource[BenchmarkData.SIZE];
+		for (int i = 0; i < BenchmarkData.SIZE; i++) {
+			urls[i] = "https://vaadin.com/directory/component/" + Integer.toHexString(random.nextInt());
+			resources[i] = new ExternalResource(urls[i]);
+		}
+	}
+
+	@Benchmark
+	public JsonValue encodeUrl() {
+		return urlRenderer.encode(urls[index++ & BenchmarkData.MASK]);
+	}
+
+	@Benchmark
+	public JsonValue encodeExternalResource() {
+		return resourceRenderer.encode(resources[index++ & BenchmarkData.MASK]);
+	}
+}
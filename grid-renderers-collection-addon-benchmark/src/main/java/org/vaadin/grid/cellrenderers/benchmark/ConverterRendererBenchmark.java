@@ -0,0 +1,68 @@
+package org.vaadin.grid.cellrenderers.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.grid.cellrenderers.view.ConverterRenderer;
+
+import com.vaadin.data.converter.StringToBigDecimalConverter;
+
+import elemental.json.JsonValue;
+
+/**
+ * Encode cost of {@link ConverterRenderer} with BigDecimal prices, the
+ * cardinality parameter controls how many distinct prices the column has.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConverterRendererBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	public int cardinality;
+
+	private ConverterRenderer<Object, BigDecimal> renderer;
+	private ConverterRenderer<Object, String> plainRenderer;
+	private BigDecimal[] prices;
+	private String[] strings;
+	private int index;
+
+	@Setup
+	public void setup() {
+		renderer = new ConverterRenderer<>(new StringToBigDecimalConverter("Not a number"));
+		plainRenderer = new ConverterRenderer<>();
+		Random random = BenchmarkData.random();
+		prices = new BigDecimal[BenchmarkData.SIZE];
+		strings = new String[BenchmarkData.SIZE];
+		for (int i = 0; i < BenchmarkData.SIZE; i++) {
+			int value = BenchmarkData.skewedIndex(random, cardinality);
+			prices[i] = BigDecimal.valueOf(value, 2);
+			strings[i] = "<b>" + value + "</b>";
+		}
+	}
+
+	@Benchmark
+	public JsonValue encodeWithConverter() {
+		return renderer.encode(prices[index++ & BenchmarkData.MASK]);
+	}
+
+	@Benchmark
+	public JsonValue encodeString() {
+		return plainRenderer.encode(strings[index++ & BenchmarkData.MASK]);
+	}
+}
@@ -0,0 +1,55 @@
+package org.vaadin.grid.cellrenderers.benchmark;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.grid.cellrenderers.editable.DateFieldRenderer;
+
+import elemental.json.JsonValue;
+
+/**
+ * Encode cost of {@link DateFieldRenderer} with dates spread over ten years,
+ * with occasional empty cells.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateFieldRendererBenchmark {
+
+	private DateFieldRenderer<Object> renderer;
+	private LocalDate[] dates;
+	private int index;
+
+	@Setup
+	public void setup() {
+		renderer = new DateFieldRenderer<>((item, value) -> {});
+		Random random = BenchmarkData.random();
+		LocalDate start = LocalDate.of(2010, 1, 1);
+		dates = new LocalDate[BenchmarkData.SIZE];
+		for (int i = 0; i < BenchmarkData.SIZE; i++) {
+			// Roughly every 20th cell is empty
+			if (random.nextInt(20) != 0) {
+				dates[i] = start.plusDays(random.nextInt(3653));
+			}
+		}
+	}
+
+	@Benchmark
+	public JsonValue encode() {
+		return renderer.encode(dates[index++ & BenchmarkData.MASK]);
+	}
+}
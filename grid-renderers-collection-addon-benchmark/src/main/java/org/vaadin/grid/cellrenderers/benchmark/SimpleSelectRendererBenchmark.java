@@ -0,0 +1,78 @@
+package org.vaadin.grid.cellrenderers.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.grid.cellrenderers.editable.SimpleSelectRenderer;
+
+import com.vaadin.data.converter.StringToIntegerConverter;
+
+import elemental.json.JsonValue;
+
+/**
+ * Encode cost of {@link SimpleSelectRenderer} with String options and with
+ * Integer options through a converter. The options parameter is the length
+ * of the drop down list, cell values are drawn from the list.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimpleSelectRendererBenchmark {
+
+	@Param({ "5", "50", "5000" })
+	public int options;
+
+	private SimpleSelectRenderer<Object, String> stringRenderer;
+	private SimpleSelectRenderer<Object, Integer> integerRenderer;
+	private String[] strings;
+	private Integer[] integers;
+	private int index;
+
+	@Setup
+	public void setup() {
+		List<String> stringOptions = new ArrayList<>();
+		List<Integer> integerOptions = new ArrayList<>();
+		for (int i = 0; i < options; i++) {
+			stringOptions.add("Option " + i);
+			integerOptions.add(i * 10);
+		}
+		stringRenderer = new SimpleSelectRenderer<>((item, value) -> {}, stringOptions);
+		integerRenderer = new SimpleSelectRenderer<>((item, value) -> {}, integerOptions);
+		integerRenderer.setConverter(new StringToIntegerConverter("Not a number"));
+
+		Random random = BenchmarkData.random();
+		strings = new String[BenchmarkData.SIZE];
+		integers = new Integer[BenchmarkData.SIZE];
+		for (int i = 0; i < BenchmarkData.SIZE; i++) {
+			int option = BenchmarkData.skewedIndex(random, options);
+			strings[i] = stringOptions.get(option);
+			integers[i] = integerOptions.get(option);
+		}
+	}
+
+	@Benchmark
+	public JsonValue encodeString() {
+		return stringRenderer.encode(strings[index++ & BenchmarkData.MASK]);
+	}
+
+	@Benchmark
+	public JsonValue encodeWithConverter() {
+		return integerRenderer.encode(integers[index++ & BenchmarkData.MASK]);
+	}
+}
@@ -0,0 +1,72 @@
+package org.vaadin.grid.cellrenderers.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.grid.cellrenderers.view.SparklineRenderer;
+
+import elemental.json.JsonValue;
+
+/**
+ * Encode cost of {@link SparklineRenderer}. The points parameter is the length
+ * of the series per row, values are a random walk like typical metrics.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SparklineRendererBenchmark {
+
+	private static final int ROWS = 64;
+
+	@Param({ "60", "2000", "10000" })
+	public int points;
+
+	private SparklineRenderer<Object> renderer;
+	private Number[][] series;
+	private double[][] primitiveSeries;
+	private int index;
+
+	@Setup
+	public void setup() {
+		renderer = new SparklineRenderer<>(75, 16);
+		Random random = BenchmarkData.random();
+		series = new Number[ROWS][];
+		primitiveSeries = new double[ROWS][];
+		for (int row = 0; row < ROWS; row++) {
+			Number[] values = new Number[points];
+			double[] primitives = new double[points];
+			double value = 50.0;
+			for (int i = 0; i < points; i++) {
+				value += random.nextGaussian();
+				values[i] = value;
+				primitives[i] = value;
+			}
+			series[row] = values;
+			primitiveSeries[row] = primitives;
+		}
+	}
+
+	@Benchmark
+	public JsonValue encode() {
+		return renderer.encode(series[index++ & (ROWS - 1)]);
+	}
+
+	@Benchmark
+	public JsonValue encodePrimitive() {
+		return renderer.encode(primitiveSeries[index++ & (ROWS - 1)]);
+	}
+}
@@ -0,0 +1,68 @@
+package org.vaadin.grid.cellrenderers.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.grid.cellrenderers.editable.TextFieldRenderer;
+
+import com.vaadin.data.converter.StringToIntegerConverter;
+
+import elemental.json.JsonValue;
+
+/**
+ * Encode cost of {@link TextFieldRenderer} with plain String values and with
+ * Integer values through a converter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TextFieldRendererBenchmark {
+
+	@Param({ "10", "100000" })
+	public int cardinality;
+
+	private TextFieldRenderer<Object, String> stringRenderer;
+	private TextFieldRenderer<Object, Integer> integerRenderer;
+	private String[] strings;
+	private Integer[] integers;
+	private int index;
+
+	@Setup
+	public void setup() {
+		stringRenderer = new TextFieldRenderer<>((item, value) -> {});
+		integerRenderer = new TextFieldRenderer<>((item, value) -> {});
+		integerRenderer.setConverter(new StringToIntegerConverter("Not a number"));
+		Random random = BenchmarkData.random();
+		strings = new String[BenchmarkData.SIZE];
+		integers = new Integer[BenchmarkData.SIZE];
+		for (int i = 0; i < BenchmarkData.SIZE; i++) {
+			int value = BenchmarkData.skewedIndex(random, cardinality);
+			strings[i] = "Value " + value;
+			integers[i] = value;
+		}
+	}
+
+	@Benchmark
+	public JsonValue encodeString() {
+		return stringRenderer.encode(strings[index++ & BenchmarkData.MASK]);
+	}
+
+	@Benchmark
+	public JsonValue encodeWithConverter() {
+		return integerRenderer.encode(integers[index++ & BenchmarkData.MASK]);
+	}
+}
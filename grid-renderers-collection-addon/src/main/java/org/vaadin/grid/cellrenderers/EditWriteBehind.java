@@ -0,0 +1,268 @@
+package org.vaadin.grid.cellrenderers;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.vaadin.grid.cellrenderers.EditableRenderer.ItemEditEvent;
+
+/**
+ * Write-behind queue for the edits done with {@link EditableRenderer}s. Instead of
+ * writing each edit e.g. to database in ItemEditListener while holding the session 
+ * lock, the edits are queued and written in batches to a sink in background thread.
+ * 
+ * Repeated edits of the same item and column are coalesced, i.e. only the last value
+ * is written. The queue is flushed when it reaches the batch size, when flush delay 
+ * has passed since the first queued edit, and when the renderer is detached. Only one
+ * batch is written at the time, so that the edits reach the sink in order.
+ * 
+ * The same instance can be shared by the renderers of the Grid, so that edits
+ * of several columns of the row end up in the same batch.
+ * 
+ * Note: The sink is called in background thread without session lock, use 
+ * UI#access if you need to update the UI from it.
+ * 
+ * Note: The executor is not serialized with the session. After the session has been
+ * deserialized, e.g. in a cluster, the executor must be set again with
+ * {@link #setExecutor(ScheduledExecutorService)}, otherwise queuing edits fails with
+ * IllegalStateException.
+ * 
+ * @see EditableRenderer#setWriteBehind(EditWriteBehind)
+ * 
+ * @param <A> Bean type of the Grid
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public class EditWriteBehind<A> implements Serializable {
+
+	/**
+	 * Sink where the batched edits are written to
+	 */
+	@FunctionalInterface
+	public interface EditSink<A> extends Serializable {
+		void write(List<ItemEditEvent<A,?>> edits) throws Exception;
+	}
+
+	/**
+	 * Handler called when writing the batch failed and there are no retries left
+	 */
+	@FunctionalInterface
+	public interface WriteErrorHandler<A> extends Serializable {
+		void onError(List<ItemEditEvent<A,?>> edits, Exception exception);
+	}
+
+	private static class EditKey implements Serializable {
+		private final Object itemId;
+		private final Object column;
+
+		private EditKey(Object itemId, Object column) {
+			this.itemId = itemId;
+			this.column = column;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof EditKey)) return false;
+			EditKey other = (EditKey) obj;
+			return Objects.equals(itemId, other.itemId) && column == other.column;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(itemId) * 31 + System.identityHashCode(column);
+		}
+	}
+
+	private final EditSink<A> sink;
+	private transient ScheduledExecutorService executor;
+	private final boolean asynchronous;
+	private final int batchSize;
+	private final long flushDelay;
+	private int maxRetries = 0;
+	private long retryDelay = 1000;
+	private WriteErrorHandler<A> errorHandler;
+
+	private final Map<EditKey,ItemEditEvent<A,?>> pending = new LinkedHashMap<>();
+	private boolean writing = false;
+	private transient ScheduledFuture<?> scheduledFlush;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param sink The sink where the edits are written
+	 * @param executor Executor used for writing, if null each edit is written in the calling thread 
+	 *        without batching and retries
+	 * @param batchSize Number of pending edits which triggers the flush 
+	 * @param flushDelay Maximum time in milliseconds the edit is kept in queue before flush
+	 */
+	public EditWriteBehind(EditSink<A> sink, ScheduledExecutorService executor, int batchSize, long flushDelay) {
+		if (sink == null) {
+			throw new IllegalArgumentException("Sink must not be null");
+		}
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		this.sink = sink;
+		this.executor = executor;
+		this.asynchronous = executor != null;
+		this.batchSize = batchSize;
+		this.flushDelay = flushDelay;
+	}
+
+	/**
+	 * Set the executor used for writing again after the session has been deserialized
+	 * 
+	 * @param executor The executor, not null if the executor was given in the constructor
+	 */
+	public void setExecutor(ScheduledExecutorService executor) {
+		if (asynchronous && executor == null) {
+			throw new IllegalArgumentException("Executor must not be null");
+		}
+		this.executor = executor;
+	}
+
+	private ScheduledExecutorService getExecutor() {
+		if (asynchronous && executor == null) {
+			throw new IllegalStateException(
+					"Executor has been lost in session serialization, set it with setExecutor");
+		}
+		return executor;
+	}
+
+	/**
+	 * Set the number of times writing of the failed batch is retried. Default is 0.
+	 * Edits which have been superseded by newer edit meanwhile are not retried.
+	 * 
+	 * Note: Retries need the executor. Without executor the edits are written in the 
+	 * calling thread, and the failed write is passed to the error handler without retries.
+	 * 
+	 * @param maxRetries Number of retries
+	 * @param retryDelay Delay in milliseconds between retries
+	 */
+	public void setRetries(int maxRetries, long retryDelay) {
+		this.maxRetries = maxRetries;
+		this.retryDelay = retryDelay;
+	}
+
+	/**
+	 * Set the handler called when the batch could not be written. If not set, 
+	 * the error is logged.
+	 * 
+	 * Note: Batching and retries need the executor. Without executor the handler is
+	 * called in the calling thread with the single edit, as soon as writing it fails.
+	 * 
+	 * @param errorHandler The handler
+	 */
+	public void setErrorHandler(WriteErrorHandler<A> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Get the number of edits waiting to be written
+	 * 
+	 * @return Number of edits
+	 */
+	public int getPendingCount() {
+		synchronized (pending) {
+			return pending.size();
+		}
+	}
+
+	/*
+	 * Used by EditableRenderer to queue the edit, the earlier pending
+	 * edit of the same item and column is replaced.
+	 */
+	void add(Object itemId, ItemEditEvent<A,?> edit) {
+		ScheduledExecutorService executor = getExecutor();
+		boolean flushNow;
+		synchronized (pending) {
+			EditKey key = new EditKey(itemId, edit.getColumn());
+			// Remove first, so that the order follows the latest edit
+			pending.remove(key);
+			pending.put(key, edit);
+			flushNow = pending.size() >= batchSize;
+			if (!flushNow && scheduledFlush == null && executor != null) {
+				scheduledFlush = executor.schedule(this::flush, flushDelay, TimeUnit.MILLISECONDS);
+			}
+		}
+		if (flushNow || executor == null) {
+			flush();
+		}
+	}
+
+	/**
+	 * Write the pending edits now. If a batch is currently being written, the pending
+	 * edits are written right after it.
+	 */
+	public void flush() {
+		Map<EditKey,ItemEditEvent<A,?>> batch;
+		synchronized (pending) {
+			if (scheduledFlush != null) {
+				scheduledFlush.cancel(false);
+				scheduledFlush = null;
+			}
+			if (writing || pending.isEmpty()) {
+				return;
+			}
+			// Fail before taking the batch, if the executor has been lost
+			getExecutor();
+			batch = new LinkedHashMap<>(pending);
+			pending.clear();
+			writing = true;
+		}
+		submit(() -> write(batch, 0), 0);
+	}
+
+	private void submit(Runnable task, long delay) {
+		ScheduledExecutorService executor = getExecutor();
+		if (executor == null) {
+			task.run();
+		} else {
+			executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void write(Map<EditKey,ItemEditEvent<A,?>> batch, int attempt) {
+		boolean retrying = false;
+		try {
+			sink.write(new ArrayList<>(batch.values()));
+		} catch (Exception e) {
+			// Retry would block the calling thread, which holds the session lock
+			if (asynchronous && attempt < maxRetries) {
+				synchronized (pending) {
+					batch.keySet().removeAll(pending.keySet());
+				}
+				if (!batch.isEmpty()) {
+					submit(() -> write(batch, attempt + 1), retryDelay);
+					retrying = true;
+					return;
+				}
+			} else if (errorHandler != null) {
+				errorHandler.onError(new ArrayList<>(batch.values()), e);
+			} else {
+				Logger.getLogger(EditWriteBehind.class.getName()).log(Level.WARNING,
+						"Writing of " + batch.size() + " edits failed", e);
+			}
+		} finally {
+			// The queue must not stall even if the error handler throws
+			if (!retrying) {
+				boolean hasPending;
+				synchronized (pending) {
+					writing = false;
+					hasPending = !pending.isEmpty();
+				}
+				if (hasPending) {
+					flush();
+				}
+			}
+		}
+	}
+}
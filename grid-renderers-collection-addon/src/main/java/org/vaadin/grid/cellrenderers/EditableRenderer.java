@@ -1,7 +1,12 @@
 package org.vaadin.grid.cellrenderers;
 
 import com.vaadin.data.ValueProvider;
+import com.vaadin.data.provider.DataChangeEvent.DataRefreshEvent;
+import com.vaadin.data.provider.DataGenerator;
+import com.vaadin.data.provider.DataKeyMapper;
+import com.vaadin.data.provider.DataProvider;
 import com.vaadin.event.ConnectorEventListener;
+import com.vaadin.server.SerializableFunction;
 import com.vaadin.server.SerializablePredicate;
 import com.vaadin.shared.Registration;
 import com.vaadin.ui.Component;
@@ -11,10 +16,20 @@ import com.vaadin.ui.renderers.ClickableRenderer;
 import com.vaadin.util.ReflectTools;
 
 import java.lang.reflect.Method;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.vaadin.grid.cellrenderers.client.editable.TextFieldRendererState;
 import org.vaadin.grid.cellrenderers.client.shared.EditableRendererState;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledProviderMode;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledRowData;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
 
 /**
  * Superclass for editable renderers (e.g. TextFieldRenderer, DateFieldRenderer)
@@ -23,7 +38,10 @@ import org.vaadin.grid.cellrenderers.client.shared.EditableRendererState;
  * edit eventing mechanism
  * 
  * @see EditableRenderer#addItemEditListener(ItemEditListener)
+ * @see EditableRenderer#setWriteBehind(EditWriteBehind)
  * @see EditableRenderer#setIsEnabledProvider(ValueProvider)
+ * @see EditableRenderer#setIsEnabledBatchProvider(SerializableFunction)
+ * @see EditableRenderer#setIsEnabledProviderMode(IsEnabledProviderMode)
  * @see EditableRenderer#setReadOnly(boolean)
  * @see EditableRenderer#isReadOnly()
  *  
@@ -35,7 +53,12 @@ import org.vaadin.grid.cellrenderers.client.shared.EditableRendererState;
 public abstract class EditableRenderer<A,T> extends ClickableRenderer<A,T> {
 
     private ValueProvider<A,Boolean> isEnabledProvider;
-    protected ArrayBlockingQueue<String> disabledRows = null; 
+    private SerializableFunction<Collection<A>,Set<A>> isEnabledBatchProvider;
+    protected IsEnabledCache isEnabledCache = null; 
+    private Registration dataGeneratorRegistration;
+    private Registration dataProviderListenerRegistration;
+    private DataProvider<A,?> listenedDataProvider;
+    private EditWriteBehind<A> writeBehind;
     
     /**
      * Constructor
@@ -127,7 +150,35 @@ public abstract class EditableRenderer<A,T> extends ClickableRenderer<A,T> {
 
     // Used internally
     public void fireItemEditEvent(A item, Column<A,T> column, T newValue) {
-        fireEvent(new ItemEditEvent(getParentGrid(), item, column, newValue));
+        Grid<A> grid = getParentGrid();
+        ItemEditEvent<A,T> event = new ItemEditEvent<>(grid, item, column, newValue);
+        fireEvent(event);
+        if (writeBehind != null) {
+        	writeBehind.add(grid.getDataProvider().getId(item), event);
+        }
+    }
+
+    /**
+     * Set write-behind queue for the edits. The edits are queued and written in 
+     * batches to the sink of the queue in background thread, in addition to firing
+     * the ItemEditEvent. The same queue can be used with several renderers of the
+     * Grid. Pending edits are flushed when the renderer is detached.
+     * 
+     * @param writeBehind The write-behind queue, null to remove
+     */
+    public void setWriteBehind(EditWriteBehind<A> writeBehind) {
+    	this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Get the write-behind queue currently in use
+     * 
+     * @see EditableRenderer#setWriteBehind(EditWriteBehind)
+     * 
+     * @return The write-behind queue or null
+     */
+    public EditWriteBehind<A> getWriteBehind() {
+    	return writeBehind;
     }
 
     /**
@@ -157,6 +208,10 @@ public abstract class EditableRenderer<A,T> extends ClickableRenderer<A,T> {
      * 
      * Note: Using the function will add an additional server round trip in the rendering
      * process and with slow network connections may impact Grid rendering performance.
+     * The rows rendered in one pass are checked in one batch. The round trip can be
+     * avoided with {@link IsEnabledProviderMode#ROW_DATA}.
+     * 
+     * @see EditableRenderer#setIsEnabledProviderMode(IsEnabledProviderMode)
      * 
      * @param isEnabledProvider Lambda expression or function reference of boolean type
      */
@@ -171,31 +226,243 @@ public abstract class EditableRenderer<A,T> extends ClickableRenderer<A,T> {
      * 
      * Note: Using the function will add an additional server round trip in the rendering
      * process and with slow network connections may impact Grid rendering performance.
+     * The rows rendered in one pass are checked in one batch.
      * 
      * @param isEnabledProvider Lambda expression or function reference of boolean type
-     * @param cacheCapacity Number of disabled rows to be cached in order to reduce RPC calls to client
+     * @param cacheCapacity Number of rows whose result is cached in order to avoid applying
+     *                      the provider again, cached row is invalidated when the item is refreshed
      */
     public void setIsEnabledProvider(ValueProvider<A,Boolean> isEnabledProvider, int cacheCapacity) {
-    	if (isEnabledProvider != null) {
-    		this.isEnabledProvider = isEnabledProvider;
-    		if (cacheCapacity > 0) disabledRows = new ArrayBlockingQueue<>(cacheCapacity);
-    		getState().hasIsEnabledProvider = true;    		
+    	setIsEnabledProvider(isEnabledProvider, cacheCapacity, 0);
+    }
+
+    /**
+     * Set a provider function for the renderer to control whether the field is enabled
+     * or not based on function return value. This method makes it possible to have
+     * selected fields to be dynamically controlled.
+     * 
+     * The results are cached, least recently used rows are evicted when the capacity is
+     * exceeded. Cached row is invalidated when the item is refreshed with 
+     * DataProvider#refreshItem and the whole cache with DataProvider#refreshAll.
+     * 
+     * @param isEnabledProvider Lambda expression or function reference of boolean type
+     * @param cacheCapacity Number of rows whose result is cached, 0 disables caching 
+     * @param cacheTimeToLive Time in milliseconds after which the cached result expires, 0 means no expiration
+     */
+    public void setIsEnabledProvider(ValueProvider<A,Boolean> isEnabledProvider, int cacheCapacity, long cacheTimeToLive) {
+    	this.isEnabledProvider = isEnabledProvider;
+    	this.isEnabledBatchProvider = null;
+    	setupIsEnabledCache(isEnabledProvider != null, cacheCapacity, cacheTimeToLive);
+    }
+
+    /**
+     * Set a batch provider function for the renderer to control whether the field is enabled
+     * or not. Unlike {@link EditableRenderer#setIsEnabledProvider(ValueProvider)} the function
+     * is called once with all the rows rendered by the client in one pass and it returns the 
+     * set of the enabled items. This is useful when the check requires e.g. database query,
+     * which can then be done for the whole page at once. 
+     * 
+     * Note: With {@link IsEnabledProviderMode#ROW_DATA} the function is called with one item
+     * at the time. Replaces the provider set with setIsEnabledProvider.
+     * 
+     * @param isEnabledBatchProvider Function returning the subset of the given items which are enabled
+     */
+    public void setIsEnabledBatchProvider(SerializableFunction<Collection<A>,Set<A>> isEnabledBatchProvider) {
+    	setIsEnabledBatchProvider(isEnabledBatchProvider, 0, 0);
+    }
+
+    /**
+     * Set a batch provider function for the renderer to control whether the field is enabled
+     * or not. The results are cached per row, and only the rows not in cache are passed
+     * to the function.
+     * 
+     * @see EditableRenderer#setIsEnabledBatchProvider(SerializableFunction)
+     * 
+     * @param isEnabledBatchProvider Function returning the subset of the given items which are enabled
+     * @param cacheCapacity Number of rows whose result is cached, 0 disables caching 
+     */
+    public void setIsEnabledBatchProvider(SerializableFunction<Collection<A>,Set<A>> isEnabledBatchProvider, int cacheCapacity) {
+    	setIsEnabledBatchProvider(isEnabledBatchProvider, cacheCapacity, 0);
+    }
+
+    /**
+     * Set a batch provider function for the renderer to control whether the field is enabled
+     * or not. The results are cached per row, and only the rows not in cache are passed
+     * to the function.
+     * 
+     * @see EditableRenderer#setIsEnabledBatchProvider(SerializableFunction)
+     * @see EditableRenderer#setIsEnabledProvider(ValueProvider, int, long)
+     * 
+     * @param isEnabledBatchProvider Function returning the subset of the given items which are enabled
+     * @param cacheCapacity Number of rows whose result is cached, 0 disables caching 
+     * @param cacheTimeToLive Time in milliseconds after which the cached result expires, 0 means no expiration
+     */
+    public void setIsEnabledBatchProvider(SerializableFunction<Collection<A>,Set<A>> isEnabledBatchProvider, int cacheCapacity, long cacheTimeToLive) {
+    	this.isEnabledProvider = null;
+    	this.isEnabledBatchProvider = isEnabledBatchProvider;
+    	setupIsEnabledCache(isEnabledBatchProvider != null, cacheCapacity, cacheTimeToLive);
+    }
+
+    private void setupIsEnabledCache(boolean hasIsEnabledProvider, int cacheCapacity, long cacheTimeToLive) {
+    	if (hasIsEnabledProvider && cacheCapacity > 0) {
+    		isEnabledCache = new IsEnabledCache(cacheCapacity, cacheTimeToLive);
     	} else {
-    		this.isEnabledProvider = null;
-    		disabledRows = null;
-    		getState().hasIsEnabledProvider = false;    		
+    		isEnabledCache = null;
+    	}
+    	getState().hasIsEnabledProvider = hasIsEnabledProvider;
+    }
+
+    /**
+     * Set the way the results of the isEnabledProvider are delivered to the client.
+     * Default is {@link IsEnabledProviderMode#RPC}.
+     * 
+     * With {@link IsEnabledProviderMode#ROW_DATA} the provider is applied when the row
+     * data is generated and the result is sent with the row, so that no additional
+     * server round trip is needed. The result is then updated only when the item is
+     * refreshed, e.g. with DataProvider#refreshItem. Set the mode before the Grid is
+     * shown, or refresh the data provider after changing it.
+     * 
+     * @param mode The mode
+     */
+    public void setIsEnabledProviderMode(IsEnabledProviderMode mode) {
+    	getState().isEnabledProviderMode = mode;
+    }
+
+    /**
+     * Get the currently set isEnabledProvider mode
+     * 
+     * @see EditableRenderer#setIsEnabledProviderMode(IsEnabledProviderMode)
+     * 
+     * @return The current mode
+     */
+    public IsEnabledProviderMode getIsEnabledProviderMode() {
+    	return getState(false).isEnabledProviderMode;
+    }
+
+    @Override
+    public void attach() {
+    	super.attach();
+    	Grid<A> grid = getParentGrid();
+    	dataGeneratorRegistration = grid.getDataCommunicator()
+    			.addDataGenerator(new IsEnabledDataGenerator());
+    	updateDataProviderListener();
+    }
+
+    /*
+     * Keep the cache invalidation listener on the current DataProvider of the Grid,
+     * it is moved when the DataProvider has been changed after attach
+     */
+    private void updateDataProviderListener() {
+    	DataProvider<A,?> dataProvider = getParentGrid().getDataProvider();
+    	if (dataProvider == listenedDataProvider) {
+    		return;
+    	}
+    	removeDataProviderListener();
+    	listenedDataProvider = dataProvider;
+    	dataProviderListenerRegistration = dataProvider
+    			.addDataProviderListener(event -> {
+    				// Single item refresh is handled by the data generator
+    				if (!(event instanceof DataRefreshEvent)) invalidateIsEnabledCache();
+    			});
+    }
+
+    private void removeDataProviderListener() {
+    	if (dataProviderListenerRegistration != null) {
+    		dataProviderListenerRegistration.remove();
+    		dataProviderListenerRegistration = null;
+    	}
+    	listenedDataProvider = null;
+    }
+
+    @Override
+    public void detach() {
+    	if (dataGeneratorRegistration != null) {
+    		dataGeneratorRegistration.remove();
+    		dataGeneratorRegistration = null;
+    	}
+    	removeDataProviderListener();
+    	invalidateIsEnabledCache();
+    	if (writeBehind != null) {
+    		writeBehind.flush();
+    	}
+    	super.detach();
+    }
+
+    /*
+     * Data generator used with IsEnabledProviderMode.ROW_DATA, adds the
+     * disabled flag of this renderer to the row data. Also keeps the cache
+     * in sync with refreshed and dropped items.
+     */
+    private class IsEnabledDataGenerator implements DataGenerator<A> {
+
+		@Override
+		public void generateData(A item, JsonObject jsonObject) {
+			updateDataProviderListener();
+	    	if (!getState(false).hasIsEnabledProvider
+	    			|| getState(false).isEnabledProviderMode != IsEnabledProviderMode.ROW_DATA) {
+	    		return;
+	    	}
+	    	String rowKey = getParentGrid().getDataCommunicator().getKeyMapper().key(item);
+	    	if (!applyIsEnabledProvider(item,rowKey)) {
+	    		JsonObject disabledRenderers = IsEnabledRowData.getDisabledRenderers(jsonObject);
+	    		if (disabledRenderers == null) {
+	    			disabledRenderers = Json.createObject();
+	    		}
+	    		IsEnabledRowData.setRowDisabled(jsonObject, disabledRenderers, getConnectorId());
+	    	}
+		}
+
+		@Override
+		public void refreshData(A item) {
+			invalidateIsEnabledCache(item);
+		}
+
+		@Override
+		public void destroyData(A item) {
+			invalidateIsEnabledCache(item);
+		}
+
+		@Override
+		public void destroyAllData() {
+			invalidateIsEnabledCache();
+		}
+    }
+
+    /**
+     * Invalidate the cached isEnabledProvider result of the item. This is done
+     * automatically when the item is refreshed with DataProvider#refreshItem.
+     * 
+     * @param item The item
+     */
+    public void invalidateIsEnabledCache(A item) {
+    	if (isEnabledCache == null || getParent() == null) {
+    		return;
+    	}
+    	DataKeyMapper<A> keyMapper = getParentGrid().getDataCommunicator().getKeyMapper();
+    	if (keyMapper.has(item)) {
+    		isEnabledCache.invalidate(keyMapper.key(item));
+    	}
+    }
+
+    /**
+     * Invalidate all cached isEnabledProvider results. This is done automatically
+     * when the data provider is refreshed with DataProvider#refreshAll.
+     */
+    public void invalidateIsEnabledCache() {
+    	if (isEnabledCache != null) {
+    		isEnabledCache.invalidateAll();
     	}
     }
 
     /*
      * For internal use by child classes. 
      * 
-     * Returns null if disabled rows are not cached
-     * Returns true if the rowkey is in disabled row cache
+     * Returns null if rows are not cached
+     * Returns true if the rowkey is cached as disabled
      */
     protected Boolean isRowDisabled(String rowKey) {
-    	if (disabledRows != null) {
-    		return disabledRows.contains(rowKey);
+    	if (isEnabledCache != null) {
+    		return Boolean.FALSE.equals(isEnabledCache.get(rowKey));
     	} else {
     		return null;
     	}
@@ -204,25 +471,84 @@ public abstract class EditableRenderer<A,T> extends ClickableRenderer<A,T> {
     /*
      * For internal use by child classes
      * 
-     * Apply enabled provider for the item and cache result if cache
-     * is enabled
+     * Apply enabled provider for the item, cached result is used
+     * if cache is enabled
      */
     protected boolean applyIsEnabledProvider(A item, String rowKey) {
-    	boolean result = isEnabledProvider.apply(item);  
-    	if (disabledRows != null && !result && !disabledRows.contains(rowKey)) {
-    		try {
-    			disabledRows.add(rowKey);
-    		} catch (IllegalStateException e) {
-    			disabledRows.remove(); 
-    			disabledRows.add(rowKey);
+    	if (isEnabledCache != null) {
+    		Boolean cached = isEnabledCache.get(rowKey);
+    		if (cached != null) {
+    			return cached;
     		}
     	}
+    	boolean result;
+    	if (isEnabledBatchProvider != null) {
+    		List<A> items = new ArrayList<>(1);
+    		items.add(item);
+    		result = isEnabledBatchProvider.apply(items).contains(item);
+    	} else {
+    		result = isEnabledProvider.apply(item);
+    	}
+    	if (isEnabledCache != null) {
+    		isEnabledCache.put(rowKey, result);
+    	}
     	return result;
     }
+
+    /*
+     * For internal use by child classes
+     * 
+     * Apply enabled provider for the batch of rows rendered by the client
+     * and return the keys of the rows which are disabled
+     */
+    protected List<String> applyIsEnabledProvider(List<String> rowKeys) {
+    	updateDataProviderListener();
+    	DataKeyMapper<A> keyMapper = getParentGrid().getDataCommunicator().getKeyMapper();
+    	List<String> disabledRowKeys = new ArrayList<>();
+    	if (isEnabledBatchProvider == null) {
+    		for (String rowKey : rowKeys) {
+    			A item = keyMapper.get(rowKey);
+    			if (item != null && !applyIsEnabledProvider(item,rowKey)) {
+    				disabledRowKeys.add(rowKey);
+    			}
+    		}
+    		return disabledRowKeys;
+    	}
+    	// Collect the rows not found from cache and apply batch provider for them at once
+    	Map<String,A> uncachedItems = new LinkedHashMap<>();
+    	for (String rowKey : rowKeys) {
+    		A item = keyMapper.get(rowKey);
+    		if (item == null) continue;
+    		Boolean cached = isEnabledCache != null ? isEnabledCache.get(rowKey) : null;
+    		if (cached == null) {
+    			uncachedItems.put(rowKey, item);
+    		} else if (!cached) {
+    			disabledRowKeys.add(rowKey);
+    		}
+    	}
+    	if (!uncachedItems.isEmpty()) {
+    		Set<A> enabledItems = isEnabledBatchProvider.apply(new ArrayList<>(uncachedItems.values()));
+    		for (Map.Entry<String,A> entry : uncachedItems.entrySet()) {
+    			boolean result = enabledItems.contains(entry.getValue());
+    			if (isEnabledCache != null) {
+    				isEnabledCache.put(entry.getKey(), result);
+    			}
+    			if (!result) {
+    				disabledRowKeys.add(entry.getKey());
+    			}
+    		}
+    	}
+    	return disabledRowKeys;
+    }
     
     @Override
     protected EditableRendererState getState() {
     	return (EditableRendererState) super.getState();
     }
 
+    @Override
+    protected EditableRendererState getState(boolean markAsDirty) {
+    	return (EditableRendererState) super.getState(markAsDirty);
+    }
+
 }
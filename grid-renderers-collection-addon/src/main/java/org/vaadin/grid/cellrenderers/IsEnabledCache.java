@@ -0,0 +1,115 @@
+package org.vaadin.grid.cellrenderers;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache for the results of the isEnabledProvider of {@link EditableRenderer}
+ * keyed by row key. Lookups are constant time. When the capacity is exceeded the
+ * least recently used entry is evicted. Optionally entries expire after given
+ * time to live.
+ * 
+ * The cache is accessed while holding the session lock, it is not thread safe by 
+ * itself.
+ * 
+ * @see EditableRenderer#setIsEnabledProvider(com.vaadin.data.ValueProvider, int, long)
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class IsEnabledCache implements Serializable {
+
+	private static class Entry implements Serializable {
+		private final boolean enabled;
+		private final long timestamp;
+
+		private Entry(boolean enabled, long timestamp) {
+			this.enabled = enabled;
+			this.timestamp = timestamp;
+		}
+	}
+
+	private static class LruMap extends LinkedHashMap<String,Entry> {
+		private final int capacity;
+
+		private LruMap(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,Entry> eldest) {
+			return size() > capacity;
+		}
+	}
+
+	private final LruMap entries;
+	private final long timeToLive;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param capacity Maximum number of cached rows
+	 * @param timeToLive Time to live of the entries in milliseconds, 0 or less means no expiration
+	 */
+	public IsEnabledCache(int capacity, long timeToLive) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Cache capacity must be positive");
+		}
+		this.entries = new LruMap(capacity);
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Get the cached result for the row
+	 * 
+	 * @param rowKey The row key
+	 * @return Cached result or null if the row is not cached or the entry has expired
+	 */
+	public Boolean get(String rowKey) {
+		Entry entry = entries.get(rowKey);
+		if (entry == null) {
+			return null;
+		}
+		if (timeToLive > 0 && System.currentTimeMillis() - entry.timestamp > timeToLive) {
+			entries.remove(rowKey);
+			return null;
+		}
+		return entry.enabled;
+	}
+
+	/**
+	 * Store the result for the row
+	 * 
+	 * @param rowKey The row key
+	 * @param enabled The result of the isEnabledProvider
+	 */
+	public void put(String rowKey, boolean enabled) {
+		entries.put(rowKey, new Entry(enabled, timeToLive > 0 ? System.currentTimeMillis() : 0));
+	}
+
+	/**
+	 * Remove the row from the cache
+	 * 
+	 * @param rowKey The row key
+	 */
+	public void invalidate(String rowKey) {
+		entries.remove(rowKey);
+	}
+
+	/**
+	 * Remove all rows from the cache
+	 */
+	public void invalidateAll() {
+		entries.clear();
+	}
+
+	/**
+	 * Get the number of rows currently in the cache
+	 * 
+	 * @return Number of rows 
+	 */
+	public int size() {
+		return entries.size();
+	}
+}
@@ -0,0 +1,158 @@
+package org.vaadin.grid.cellrenderers;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.vaadin.data.Converter;
+import com.vaadin.data.ValueContext;
+import com.vaadin.server.SerializableFunction;
+
+/**
+ * Bounded cache from value to its presentation string, used by the converter
+ * backed renderers to avoid running the converter again for the values which
+ * repeat in the column, e.g. status enums or prices. The least recently used
+ * value is evicted when the capacity is exceeded. The cache is cleared when
+ * the default locale changes, since converters format with it, and when the
+ * converter of the renderer is set.
+ * 
+ * The cache is disabled by default, enable it with {@link #setCapacity(int)}, e.g.
+ * <code>renderer.getPresentationCache().setCapacity(100)</code>
+ * 
+ * Note: The values must be immutable and implement equals and hashCode.
+ * 
+ * The cache is accessed while holding the session lock, it is not thread safe by 
+ * itself.
+ * 
+ * @param <A> Type of the value
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class PresentationCache<A> implements Serializable {
+
+	private static class LruMap<A> extends LinkedHashMap<A,String> {
+		private final int capacity;
+
+		private LruMap(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<A,String> eldest) {
+			return size() > capacity;
+		}
+	}
+
+	private LruMap<A> entries;
+	private Locale locale = Locale.getDefault();
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructor for disabled cache
+	 */
+	public PresentationCache() {
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param capacity Maximum number of cached values
+	 */
+	public PresentationCache(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Cache capacity must be positive");
+		}
+		entries = new LruMap<>(capacity);
+	}
+
+	/**
+	 * Set the maximum number of cached values, the cached values are cleared
+	 * 
+	 * @param capacity Maximum number of cached values, 0 disables the cache
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Cache capacity must not be negative");
+		}
+		entries = capacity > 0 ? new LruMap<>(capacity) : null;
+	}
+
+	/**
+	 * Check whether the cache is enabled
+	 * 
+	 * @return true if the capacity is positive
+	 */
+	public boolean isEnabled() {
+		return entries != null;
+	}
+
+	/**
+	 * Convert the value to presentation with the converter, using the cache if it is enabled
+	 * 
+	 * @param value The value
+	 * @param converter The converter
+	 * @return The presentation string
+	 */
+	public String convert(A value, Converter<String,A> converter) {
+		if (entries == null) {
+			return converter.convertToPresentation(value, new ValueContext());
+		}
+		return get(value, v -> converter.convertToPresentation(v, new ValueContext()));
+	}
+
+	/**
+	 * Get the presentation of the value from the cache, or convert and cache it
+	 * 
+	 * @param value The value, null values are not cached
+	 * @param converter Function used for conversion when the value is not cached
+	 * @return The presentation string
+	 */
+	public String get(A value, SerializableFunction<A,String> converter) {
+		if (value == null || entries == null) {
+			return converter.apply(null);
+		}
+		if (!locale.equals(Locale.getDefault())) {
+			clear();
+			locale = Locale.getDefault();
+		}
+		String presentation = entries.get(value);
+		if (presentation == null) {
+			misses++;
+			presentation = converter.apply(value);
+			if (presentation != null) {
+				entries.put(value, presentation);
+			}
+		} else {
+			hits++;
+		}
+		return presentation;
+	}
+
+	/**
+	 * Remove all values from the cache
+	 */
+	public void clear() {
+		if (entries != null) entries.clear();
+	}
+
+	/**
+	 * Get the number of conversions served from the cache
+	 * 
+	 * @return Number of hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Get the number of conversions which needed to run the converter
+	 * 
+	 * @return Number of misses
+	 */
+	public long getMisses() {
+		return misses;
+	}
+}
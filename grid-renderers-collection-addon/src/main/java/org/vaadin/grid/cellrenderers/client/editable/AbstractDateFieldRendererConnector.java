@@ -0,0 +1,245 @@
+package org.vaadin.grid.cellrenderers.client.editable;
+
+import java.util.Date;
+import java.util.List;
+
+import com.google.gwt.dom.client.Style;
+
+import com.google.gwt.dom.client.BrowserEvents; 
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.event.dom.client.BlurEvent;
+import com.google.gwt.event.dom.client.ChangeEvent;
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.event.dom.client.MouseDownEvent;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.vaadin.client.LocaleService;
+import com.vaadin.client.communication.RpcProxy;
+import com.vaadin.client.connectors.ClickableRendererConnector; 
+import com.vaadin.client.connectors.grid.ColumnConnector;
+import com.vaadin.client.connectors.grid.GridConnector;
+import com.vaadin.client.renderers.ClickableRenderer; 
+import com.vaadin.client.renderers.ClickableRenderer.RendererClickHandler; 
+import com.vaadin.client.ui.VAbstractPopupCalendar;
+import com.vaadin.client.widget.grid.RendererCellReference;
+import com.vaadin.client.widgets.Grid; 
+
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledCheckBatcher;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledProviderMode;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledRowData;
+
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+/**
+ * Common client side implementation of the date renderers, the values are received
+ * and sent as numbers, see {@link DateFieldEncoding}
+ * 
+ * @param <W> Type of the date field widget
+ * @param <R> Type of the resolution of the widget
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public abstract class AbstractDateFieldRendererConnector<W extends VAbstractPopupCalendar<?,R>, R extends Enum<R>>
+		extends ClickableRendererConnector<Date> {
+    DateFieldRendererServerRpc rpc = RpcProxy.create(
+            DateFieldRendererServerRpc.class, this);
+    IsEnabledCheckBatcher isEnabledChecks = new IsEnabledCheckBatcher(
+            rowKeys -> rpc.applyIsEnabledCheck(rowKeys));
+
+    /**
+     * Create the date field widget
+     * 
+     * @return The widget
+     */
+    protected abstract W createDateField();
+
+    /**
+     * Get the resolution of the date field from the state
+     * 
+     * @return The resolution
+     */
+    protected abstract R getResolution();
+
+    @Override
+    public Date decode(JsonValue value) {
+    	if (value.getType() == JsonType.NUMBER) {
+    		return EpochDates.toDate(value.asNumber(), getState().encoding);
+    	}
+    	return null;
+    }
+
+    private Long toEpochValue(Date date) {
+    	return EpochDates.toEpochValue(date, getState().encoding);
+    }
+
+    public class DateFieldClientRenderer extends ClickableRenderer<Date, W> {
+
+        private static final String ROW_KEY_PROPERTY = "rowKey";
+        private Date value = null;
+        
+        @Override
+        public void render(RendererCellReference cell, Date selectedValue,
+                           W dateField) {
+
+            Element e = dateField.getElement();
+
+            if(e.getPropertyString(ROW_KEY_PROPERTY) != getRowKey((JsonObject) cell.getRow())) {
+                e.setPropertyString(ROW_KEY_PROPERTY,
+                        getRowKey((JsonObject) cell.getRow()));
+            }
+            // Generics issue, need a correctly typed column.
+
+            // Setting and showing the date from the Grid
+            dateField.setCurrentDate(selectedValue);
+            dateField.buildDate();
+            
+            dateField.setEnabled(!getState().readOnly && getGrid().isEnabled());
+			if (getState().hasIsEnabledProvider) {
+				if (getState().isEnabledProviderMode == IsEnabledProviderMode.ROW_DATA) {
+					if (IsEnabledRowData.isRowDisabled((JsonObject) cell.getRow(), getConnectorId())) {
+						dateField.setEnabled(false);
+					}
+				} else {
+					isEnabledChecks.add(e.getPropertyString(ROW_KEY_PROPERTY));
+				}
+			}
+        }
+
+        @Override
+        public W createWidget() {
+            W dateField = createDateField();
+
+            dateField.setWidth("100%");
+
+            dateField.getElement().getStyle().setProperty("border-radius", "0");
+            dateField.getElement().getStyle().setTop(-1, Style.Unit.PX);
+
+            dateField.sinkBitlessEvent(BrowserEvents.CHANGE);
+            dateField.sinkBitlessEvent(BrowserEvents.CLICK);
+            dateField.sinkBitlessEvent(BrowserEvents.MOUSEDOWN);
+            // Configuring the popup calendar panel for the resolution
+            // This is done in similar fashion than the regular connector does it
+            dateField.setCurrentResolution(getResolution());
+            dateField.calendar.setDateTimeService(dateField.getDateTimeService());
+            dateField.calendar.setShowISOWeekNumbers(dateField
+                    .isShowISOWeekNumbers());
+            if (dateField.calendar.getResolution() != dateField
+                    .getCurrentResolution()) {
+                boolean hasSelectedDate = false;
+                dateField.calendar.setResolution(dateField
+                        .getCurrentResolution());
+                if (dateField.calendar.getDate() != null
+                        && dateField.getCurrentDate() != null) {
+                    hasSelectedDate = true;
+                    dateField.calendar.setDate((Date) dateField
+                            .getCurrentDate().clone());
+                }
+                // force re-render when changing resolution only
+                dateField.calendar.renderCalendar(hasSelectedDate);
+            }
+            dateField.setTextFieldTabIndex();
+
+            // Re-setting connector so that popup inherits correct theme / styles from Grid 
+            ColumnConnector columnConnector = (ColumnConnector) getParent();
+            GridConnector gridConnector = columnConnector.getParent();
+            dateField.popup.setOwner(gridConnector.getWidget());
+
+            // Set application connection
+            dateField.client = getConnection();   
+
+            // Set date locale
+            String locale = LocaleService.getDefaultLocale();
+            dateField.setCurrentLocale(locale);
+
+            // Add change handler (for textual date input)
+            dateField.addDomHandler(changeEvent -> {
+                Element e = dateField.getElement();
+           		Date newValue = dateField.getDate();
+           		if (value != null && !value.equals(newValue)) {
+           			rpc.onChange(e.getPropertyString(ROW_KEY_PROPERTY),
+           					toEpochValue(newValue));
+           			value = newValue;
+           		}
+            }, ChangeEvent.getType());
+
+            dateField.addDomHandler(new ClickHandler() {
+                @Override
+                public void onClick(ClickEvent event) {
+                    event.stopPropagation();
+                }
+            }, ClickEvent.getType());
+
+            dateField.text.addFocusHandler(event -> {
+            	value = dateField.getDate();
+            });
+            
+            dateField.text.addDomHandler(event ->  {
+               	if (getState().blurChangeMode) {
+               		Date newValue = dateField.getDate();
+               		if (value != null && !value.equals(newValue)) {
+               			Element e = dateField.getElement();
+               			rpc.onChange(e.getPropertyString(ROW_KEY_PROPERTY),
+               					toEpochValue(newValue));
+               			value = newValue;
+               		}
+               	}
+            }, BlurEvent.getType());
+            
+            dateField.addDomHandler(event -> {
+                   event.stopPropagation();
+            }, MouseDownEvent.getType());
+
+            // Add close handler to popup calendar panel
+            // This is needed to get value change when user selects date from popup
+            // Note: Popup doesn't update currentDate automatically
+            dateField.popup.addCloseHandler(closeEvent ->  {
+                Element e = dateField.getElement();
+                Date newValue = dateField.calendar.getDate();
+      			rpc.onChange(e.getPropertyString(ROW_KEY_PROPERTY),
+           					toEpochValue(newValue));
+            });
+            
+			registerRpc(DateFieldRendererClientRpc.class,
+					new DateFieldRendererClientRpc() {
+						@Override
+						public void setDisabledRows(List<String> rowKeys) {
+	                		Element e = dateField.getElement();
+							if (rowKeys.contains(e.getPropertyString(ROW_KEY_PROPERTY))) {
+								dateField.setEnabled(false);
+							}
+						}
+			});
+			
+            return dateField;
+        }
+    }
+    
+    @Override
+    public DateFieldRendererState getState() {
+    	return (DateFieldRendererState) super.getState();
+    }
+    
+    @Override
+    protected DateFieldClientRenderer createRenderer() {
+        return new DateFieldClientRenderer();
+    }
+
+    @Override
+    public DateFieldClientRenderer getRenderer() {
+        return (DateFieldClientRenderer) super.getRenderer();
+    }
+
+    @Override
+    protected HandlerRegistration addClickHandler(
+            RendererClickHandler<JsonObject> handler) {
+        return getRenderer().addClickHandler(handler);
+    }
+
+    private Grid<JsonObject> getGrid() {
+    	ColumnConnector column = (ColumnConnector) getParent();
+        return column.getParent().getWidget();
+    }
+
+}
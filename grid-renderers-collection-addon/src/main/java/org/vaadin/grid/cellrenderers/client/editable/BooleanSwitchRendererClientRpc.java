@@ -1,9 +1,11 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.List;
+
 import com.vaadin.shared.communication.ClientRpc;
 
 public interface BooleanSwitchRendererClientRpc extends ClientRpc {
 
-	void setEnabled(boolean enabled, String rowKey);
+	void setDisabledRows(List<String> rowKeys);
 
 }
@@ -1,5 +1,7 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.List;
+
 import com.google.gwt.dom.client.BrowserEvents;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.event.shared.HandlerRegistration;
@@ -12,6 +14,9 @@ import com.vaadin.client.widget.grid.RendererCellReference;
 import com.vaadin.client.widgets.Grid;
 import com.vaadin.shared.ui.Connect;
 
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledCheckBatcher;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledProviderMode;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledRowData;
 import org.vaadin.grid.cellrenderers.editable.BooleanSwitchRenderer;
 
 import elemental.json.JsonObject;
@@ -20,6 +25,8 @@ import elemental.json.JsonObject;
 public class BooleanSwitchRendererConnector extends ClickableRendererConnector<Boolean> {
 	BooleanSwitchRendererServerRpc rpc = RpcProxy.create(
 			BooleanSwitchRendererServerRpc.class, this);
+	IsEnabledCheckBatcher isEnabledChecks = new IsEnabledCheckBatcher(
+			rowKeys -> rpc.applyIsEnabledCheck(rowKeys));
 
 	public class BooleanSwitchClientRenderer extends ClickableRenderer<Boolean, VCheckBox> {
 
@@ -38,7 +45,16 @@ public class BooleanSwitchRendererConnector extends ClickableRendererConnector<B
             }
 
 			checkBox.setEnabled(getGrid().isEnabled() && !getState().readOnly);
-			if (getState().hasIsEnabledProvider) rpc.applyIsEnabledCheck(e.getPropertyString(ROW_KEY_PROPERTY));
+			if (getState().hasIsEnabledProvider) {
+				if (getState().isEnabledProviderMode == IsEnabledProviderMode.ROW_DATA) {
+					if (IsEnabledRowData.isRowDisabled((JsonObject) rendererCellReference.getRow(), getConnectorId())) {
+						checkBox.setEnabled(false);
+						readOnly = true;
+					}
+				} else {
+					isEnabledChecks.add(e.getPropertyString(ROW_KEY_PROPERTY));
+				}
+			}
 			
 			rendererCellReference.getElement().addClassName("unselectable");
 			if (getState().txtTrue != null) {
@@ -84,11 +100,11 @@ public class BooleanSwitchRendererConnector extends ClickableRendererConnector<B
 			registerRpc(BooleanSwitchRendererClientRpc.class,
 					new BooleanSwitchRendererClientRpc() {
 						@Override
-						public void setEnabled(boolean enabled, String rowKey) {
+						public void setDisabledRows(List<String> rowKeys) {
 	                		Element e = checkBox.getElement();
-							if (rowKey.equals(e.getPropertyString(ROW_KEY_PROPERTY))) {
-								checkBox.setEnabled(getGrid().isEnabled() && enabled);
-								readOnly = !enabled;								
+							if (rowKeys.contains(e.getPropertyString(ROW_KEY_PROPERTY))) {
+								checkBox.setEnabled(false);
+								readOnly = true;								
 							}
 						}
 			});
@@ -1,5 +1,7 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.List;
+
 import com.vaadin.shared.communication.ServerRpc;
 
 /**
@@ -7,6 +9,6 @@ import com.vaadin.shared.communication.ServerRpc;
  */
 public interface BooleanSwitchRendererServerRpc extends ServerRpc {
     public void onChange(String rowKey, Boolean newValue);
-    public void applyIsEnabledCheck(String rowKey);
+    public void applyIsEnabledCheck(List<String> rowKeys);
 
 }
@@ -0,0 +1,22 @@
+package org.vaadin.grid.cellrenderers.client.editable;
+
+/**
+ * Enum used for defining how the date renderers send the values between the server and
+ * the client, see {@link EpochDates}
+ */
+public enum DateFieldEncoding {
+	/**
+	 * Days since 1970-01-01, used for LocalDate
+	 */
+	EPOCH_DAY,
+	/**
+	 * Milliseconds since 1970-01-01T00:00 without time zone, used for LocalDateTime.
+	 * The client shows the same date and time regardless of the browser time zone.
+	 */
+	LOCAL_EPOCH_MILLI,
+	/**
+	 * Milliseconds since 1970-01-01T00:00Z, used for Instant. The client shows the
+	 * date and time in the browser time zone.
+	 */
+	EPOCH_MILLI;
+}
@@ -1,6 +1,6 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
-import java.util.Date;
+import java.util.List;
 
 import com.vaadin.shared.communication.ServerRpc;
 
@@ -9,6 +9,6 @@ import com.vaadin.shared.communication.ServerRpc;
  */
 public interface DateFieldRendererServerRpc extends ServerRpc {
 
-    public void onChange(String rowKey, Date newValue);
-    public void applyIsEnabledCheck(String rowKey);
+    public void onChange(String rowKey, Long newValue);
+    public void applyIsEnabledCheck(List<String> rowKeys);
 }
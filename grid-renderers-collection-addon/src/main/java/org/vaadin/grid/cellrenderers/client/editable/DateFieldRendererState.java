@@ -5,6 +5,7 @@ import java.util.Date;
 import org.vaadin.grid.cellrenderers.client.shared.EditableRendererState;
 
 import com.vaadin.shared.ui.datefield.DateResolution;
+import com.vaadin.shared.ui.datefield.DateTimeResolution;
 
 /**
  * @author Tatu Lund - Vaadin
@@ -13,4 +14,6 @@ public class DateFieldRendererState extends EditableRendererState {
 	public Date value = null;
 	public boolean blurChangeMode = false;
 	public DateResolution dateResolution = DateResolution.DAY;
+	public DateTimeResolution dateTimeResolution = DateTimeResolution.MINUTE;
+	public DateFieldEncoding encoding = DateFieldEncoding.EPOCH_DAY;
 }
@@ -0,0 +1,24 @@
+package org.vaadin.grid.cellrenderers.client.editable;
+
+import org.vaadin.grid.cellrenderers.editable.DateTimeFieldRenderer;
+
+import com.google.gwt.core.client.GWT;
+import com.vaadin.shared.ui.Connect;
+import com.vaadin.shared.ui.datefield.DateTimeResolution;
+
+/**
+ * @author Tatu Lund - Vaadin
+ */
+@Connect(DateTimeFieldRenderer.class)
+public class DateTimeFieldRendererConnector extends AbstractDateFieldRendererConnector<VMyPopupTimeCalendar, DateTimeResolution> {
+
+    @Override
+    protected VMyPopupTimeCalendar createDateField() {
+        return GWT.create(VMyPopupTimeCalendar.class);
+    }
+
+    @Override
+    protected DateTimeResolution getResolution() {
+        return getState().dateTimeResolution;
+    }
+}
@@ -0,0 +1,93 @@
+package org.vaadin.grid.cellrenderers.client.editable;
+
+import java.util.Date;
+
+/**
+ * Conversion between the compact values sent by the date renderers and the Date objects
+ * used by the client side date field. The date fields are computed arithmetically, thus
+ * dates are not shifted by the time zone of the browser.
+ *
+ * @see DateFieldEncoding
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public class EpochDates {
+
+	private static final double MILLIS_PER_DAY = 86400000d;
+
+	private EpochDates() {
+	}
+
+	/**
+	 * Convert the value received from the server to Date
+	 *
+	 * @param value Epoch day or epoch milliseconds depending on the encoding
+	 * @param encoding The encoding
+	 * @return The date
+	 */
+	@SuppressWarnings("deprecation")
+	public static Date toDate(double value, DateFieldEncoding encoding) {
+		switch (encoding) {
+		case EPOCH_MILLI:
+			return new Date((long) value);
+		case LOCAL_EPOCH_MILLI:
+			int days = (int) Math.floor(value / MILLIS_PER_DAY);
+			int millis = (int) (value - days * MILLIS_PER_DAY);
+			int[] ymd = civilFromDays(days);
+			Date date = new Date(ymd[0] - 1900, ymd[1] - 1, ymd[2], millis / 3600000,
+					millis / 60000 % 60, millis / 1000 % 60);
+			date.setTime(date.getTime() + millis % 1000);
+			return date;
+		default:
+			ymd = civilFromDays((int) value);
+			return new Date(ymd[0] - 1900, ymd[1] - 1, ymd[2]);
+		}
+	}
+
+	/**
+	 * Convert the date to the value sent to the server
+	 *
+	 * @param date The date, can be null
+	 * @param encoding The encoding
+	 * @return Epoch day or epoch milliseconds depending on the encoding, null if the date is null
+	 */
+	@SuppressWarnings("deprecation")
+	public static Long toEpochValue(Date date, DateFieldEncoding encoding) {
+		if (date == null) return null;
+		switch (encoding) {
+		case EPOCH_MILLI:
+			return date.getTime();
+		case LOCAL_EPOCH_MILLI:
+			long time = date.getTime();
+			long millis = ((date.getHours() * 60L + date.getMinutes()) * 60 + date.getSeconds()) * 1000
+					+ (time % 1000 + 1000) % 1000;
+			return daysFromCivil(date.getYear() + 1900, date.getMonth() + 1, date.getDate())
+					* (long) MILLIS_PER_DAY + millis;
+		default:
+			return (long) daysFromCivil(date.getYear() + 1900, date.getMonth() + 1, date.getDate());
+		}
+	}
+
+	// Proleptic Gregorian calendar, see http://howardhinnant.github.io/date_algorithms.html
+	private static int[] civilFromDays(int days) {
+		int z = days + 719468;
+		int era = (z >= 0 ? z : z - 146096) / 146097;
+		int doe = z - era * 146097;
+		int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+		int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+		int mp = (5 * doy + 2) / 153;
+		int day = doy - (153 * mp + 2) / 5 + 1;
+		int month = mp < 10 ? mp + 3 : mp - 9;
+		int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+		return new int[] { year, month, day };
+	}
+
+	private static int daysFromCivil(int year, int month, int day) {
+		int y = month <= 2 ? year - 1 : year;
+		int era = (y >= 0 ? y : y - 399) / 400;
+		int yoe = y - era * 400;
+		int doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+		return era * 146097 + doe - 719468;
+	}
+}
@@ -0,0 +1,12 @@
+package org.vaadin.grid.cellrenderers.client.editable;
+
+import com.vaadin.shared.ui.Connect;
+
+/**
+ * InstantFieldRenderer uses the same client side implementation as DateTimeFieldRenderer
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+@Connect(org.vaadin.grid.cellrenderers.editable.InstantFieldRenderer.class)
+public class InstantFieldRendererConnector extends DateTimeFieldRendererConnector {
+}
@@ -0,0 +1,127 @@
+package org.vaadin.grid.cellrenderers.client.editable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Captions of the option catalogs used by SimpleSelectRendererConnectors, shared by
+ * all connectors in the page. Each version of a catalog is kept as long as some
+ * connector refers to it, thus grids using different versions of the same catalog
+ * can be shown at the same time. The first connector needing a catalog fetches it,
+ * the others are notified when the catalog has been received.
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public class OptionCatalogCache {
+
+	private static final Map<String,List<String>> catalogs = new HashMap<>();
+	private static final Map<String,Integer> references = new HashMap<>();
+	private static final Map<String,List<Runnable>> pending = new HashMap<>();
+
+	private OptionCatalogCache() {
+	}
+
+	private static String key(String id, int version) {
+		return id + "/" + version;
+	}
+
+	/**
+	 * Register reference to the catalog version, the captions are kept until
+	 * all references have been released
+	 *
+	 * @param id Id of the catalog
+	 * @param version Version of the catalog
+	 */
+	public static void retain(String id, int version) {
+		String key = key(id, version);
+		Integer count = references.get(key);
+		references.put(key, count != null ? count + 1 : 1);
+	}
+
+	/**
+	 * Release reference to the catalog version, the captions are removed when
+	 * no connector refers to the version
+	 *
+	 * @param id Id of the catalog
+	 * @param version Version of the catalog
+	 */
+	public static void release(String id, int version) {
+		String key = key(id, version);
+		Integer count = references.get(key);
+		if (count == null || count <= 1) {
+			references.remove(key);
+			catalogs.remove(key);
+		} else {
+			references.put(key, count - 1);
+		}
+	}
+
+	/**
+	 * Get the captions of the catalog
+	 *
+	 * @param id Id of the catalog
+	 * @param version Version of the catalog
+	 * @return The captions, null if the version has not been received
+	 */
+	public static List<String> get(String id, int version) {
+		return catalogs.get(key(id, version));
+	}
+
+	/**
+	 * Register callback to be run when the catalog has been received
+	 *
+	 * @param id Id of the catalog
+	 * @param version Version of the catalog
+	 * @param callback Callback run when the catalog is received or the fetch is cancelled
+	 * @return true if the caller should fetch the catalog, false if it is already being fetched
+	 */
+	public static boolean request(String id, int version, Runnable callback) {
+		String key = key(id, version);
+		List<Runnable> callbacks = pending.get(key);
+		boolean fetch = callbacks == null;
+		if (fetch) {
+			callbacks = new ArrayList<>();
+			pending.put(key, callbacks);
+		}
+		callbacks.add(callback);
+		return fetch;
+	}
+
+	/**
+	 * Store the received catalog and run the callbacks waiting for it. The catalog
+	 * is not stored if no connector refers to the version.
+	 *
+	 * @param id Id of the catalog
+	 * @param version Version of the catalog
+	 * @param captions The captions
+	 */
+	public static void put(String id, int version, List<String> captions) {
+		String key = key(id, version);
+		if (references.containsKey(key)) {
+			catalogs.put(key, captions);
+		}
+		runCallbacks(key);
+	}
+
+	/**
+	 * Cancel the fetch, e.g. when the fetching connector is unregistered. The waiting
+	 * callbacks are run, thus one of them can fetch the catalog again.
+	 *
+	 * @param id Id of the catalog
+	 * @param version Version of the catalog
+	 */
+	public static void cancel(String id, int version) {
+		runCallbacks(key(id, version));
+	}
+
+	private static void runCallbacks(String key) {
+		List<Runnable> callbacks = pending.remove(key);
+		if (callbacks != null) {
+			for (Runnable callback : callbacks) {
+				callback.run();
+			}
+		}
+	}
+}
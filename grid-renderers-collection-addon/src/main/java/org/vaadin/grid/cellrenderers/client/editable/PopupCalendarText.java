@@ -0,0 +1,63 @@
+package org.vaadin.grid.cellrenderers.client.editable;
+
+import java.util.Date;
+import java.util.function.Consumer;
+
+import com.vaadin.client.VConsole;
+import com.vaadin.client.ui.VAbstractPopupCalendar;
+
+/**
+ * Text input handling shared by VMyPopupCalendar and VMyPopupTimeCalendar, which
+ * extend different popup calendars of the framework.
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+class PopupCalendarText {
+
+	private static final String PARSE_ERROR_CLASSNAME = "-parseerror";
+
+	private PopupCalendarText() {
+	}
+
+	/**
+	 * Parse the text of the date field and set it as the date
+	 * 
+	 * @param field The date field
+	 * @param formatString Format of the date
+	 * @param lenient true if the date is parsed leniently
+	 * @param setDate Setter of the date of the field
+	 */
+	@SuppressWarnings("deprecation")
+	static void parse(VAbstractPopupCalendar<?,?> field, String formatString, boolean lenient,
+			Consumer<Date> setDate) {
+		String errorStyle = field.getStylePrimaryName() + PARSE_ERROR_CLASSNAME;
+    	if (!field.text.getText().equals("")) {
+        	try {
+        		String enteredDate = field.text.getText();
+
+            	setDate.accept(field.getDateTimeService().parseDate(enteredDate,
+                    formatString, lenient));
+
+            	if (lenient) {
+            		// If date value was leniently parsed, normalize text
+            		// presentation.
+            		field.text.setValue(
+                        field.getDateTimeService().formatDate(field.getDate(),
+                                formatString), false);
+            	}
+
+            	// remove possibly added invalid value indication
+            	field.removeStyleName(errorStyle);
+        	} catch (final Exception e) {
+            	VConsole.log(e);
+
+            	field.addStyleName(errorStyle);
+            	setDate.accept(null);
+        	}
+    	} else {
+        	setDate.accept(null);
+        	// remove possibly added invalid value indication
+        	field.removeStyleName(errorStyle);
+    	}
+	}
+}
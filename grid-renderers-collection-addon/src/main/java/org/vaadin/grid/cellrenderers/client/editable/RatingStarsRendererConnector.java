@@ -1,5 +1,7 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.List;
+
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.BrowserEvents;
 import com.google.gwt.dom.client.Element;
@@ -16,6 +18,10 @@ import com.vaadin.client.widget.grid.RendererCellReference;
 import com.vaadin.shared.ui.Connect;
 import com.vaadin.client.widgets.Grid; 
 
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledCheckBatcher;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledProviderMode;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledRowData;
+
 import elemental.json.JsonObject;
 
 import org.vaadin.teemu.ratingstars.gwt.client.RatingStarsWidget;
@@ -27,6 +33,8 @@ import org.vaadin.teemu.ratingstars.gwt.client.RatingStarsWidget;
 public class RatingStarsRendererConnector extends ClickableRendererConnector<Double> {
     RatingStarsRendererServerRpc rpc = RpcProxy.create(
             RatingStarsRendererServerRpc.class, this);
+    IsEnabledCheckBatcher isEnabledChecks = new IsEnabledCheckBatcher(
+            rowKeys -> rpc.applyIsEnabledCheck(rowKeys));
 
     public class RatingStarsClientRenderer extends ClickableRenderer<Double, RatingStarsWidget> {
 
@@ -87,10 +95,10 @@ public class RatingStarsRendererConnector extends ClickableRendererConnector<Dou
 			registerRpc(RatingStarsRendererClientRpc.class,
 					new RatingStarsRendererClientRpc() {
 						@Override
-						public void setEnabled(boolean enabled, String rowKey) {
+						public void setDisabledRows(List<String> rowKeys) {
 	                		Element e = ratingStars.getElement();
-							if (rowKey.equals(e.getPropertyString(ROW_KEY_PROPERTY))) {
-								ratingStars.setReadOnly(getGrid().isEnabled() || !enabled);
+							if (rowKeys.contains(e.getPropertyString(ROW_KEY_PROPERTY))) {
+								ratingStars.setReadOnly(true);
 							}
 						}
 			});
@@ -117,7 +125,15 @@ public class RatingStarsRendererConnector extends ClickableRendererConnector<Dou
                 e.setPropertyString(ROW_KEY_PROPERTY,
                         getRowKey((JsonObject) cell.getRow()));
             }
-			if (getState().hasIsEnabledProvider) rpc.applyIsEnabledCheck(e.getPropertyString(ROW_KEY_PROPERTY));
+			if (getState().hasIsEnabledProvider) {
+				if (getState().isEnabledProviderMode == IsEnabledProviderMode.ROW_DATA) {
+					if (IsEnabledRowData.isRowDisabled((JsonObject) cell.getRow(), getConnectorId())) {
+						widget.setReadOnly(true);
+					}
+				} else {
+					isEnabledChecks.add(e.getPropertyString(ROW_KEY_PROPERTY));
+				}
+			}
    	 		
    	 	}
 
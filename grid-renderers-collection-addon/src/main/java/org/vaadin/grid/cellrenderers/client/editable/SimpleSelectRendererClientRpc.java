@@ -1,8 +1,14 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.List;
+
 import com.vaadin.shared.communication.ClientRpc;
 
 public interface SimpleSelectRendererClientRpc extends ClientRpc {
 
-	void setEnabled(boolean enabled, String rowKey);
+	void setDisabledRows(List<String> rowKeys);
+
+	void setOptions(int optionsVersion, String filter, int offset, List<String> captions, boolean hasMore);
+
+	void setCatalog(String catalogId, int catalogVersion, List<String> captions);
 }
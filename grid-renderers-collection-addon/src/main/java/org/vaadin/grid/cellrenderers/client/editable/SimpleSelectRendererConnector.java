@@ -1,14 +1,21 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.BrowserEvents;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.Style;
+import com.google.gwt.event.dom.client.KeyCodes;
 import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.ListBox;
 import com.vaadin.client.communication.RpcProxy;
+import com.vaadin.client.communication.StateChangeEvent;
 import com.vaadin.client.connectors.ClickableRendererConnector;
 import com.vaadin.client.connectors.grid.ColumnConnector;
 import com.vaadin.client.renderers.ClickableRenderer;
@@ -17,9 +24,14 @@ import com.vaadin.client.widget.grid.RendererCellReference;
 import com.vaadin.client.widgets.Grid;
 import com.vaadin.shared.ui.Connect;
 
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledCheckBatcher;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledProviderMode;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledRowData;
 import org.vaadin.grid.cellrenderers.editable.SimpleSelectRenderer;
 
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
 
 /**
  * 
@@ -31,21 +43,245 @@ public class SimpleSelectRendererConnector extends ClickableRendererConnector<St
 
     SimpleSelectRendererServerRpc rpc = RpcProxy.create(
             SimpleSelectRendererServerRpc.class, this);
+
+    IsEnabledCheckBatcher isEnabledChecks = new IsEnabledCheckBatcher(
+            rowKeys -> rpc.applyIsEnabledCheck(rowKeys));
+
     private String value = null;
+
+    // Options fetched from the server in lazy options mode, by filter
+    private static class OptionPages {
+    	private final List<String> captions = new ArrayList<>();
+    	private boolean hasMore = true;
+    	private boolean loading = false;
+    }
+
+    private static final String MORE_VALUE = "\u0000more";
+    private static final String MORE_CAPTION = "\u2026";
+    private static final int MAX_CACHED_FILTERS = 20;
+    private static final int FILTER_DELAY = 300;
+    private static final String SELECTED_PROPERTY = "selectedCaption";
+    private static final String OPTIONS_VERSION_PROPERTY = "optionsVersion";
+
+    private final Map<String,Integer> captionIndexes = new HashMap<>();
+    // Starts from 1, as the property of a new widget is 0
+    private int dropDownListVersion = 0;
+    // Catalog being fetched by this connector for all connectors using it
+    private String fetchingCatalogId = null;
+    private int fetchingCatalogVersion = 0;
+    // Catalog version of the state, referenced in OptionCatalogCache
+    private String catalogId = null;
+    private int catalogVersion = 0;
+    private boolean unregistered = false;
+
+    private final Map<String,OptionPages> optionCache = new LinkedHashMap<String,OptionPages>(16, 0.75f, true) {
+    	@Override
+    	protected boolean removeEldestEntry(Map.Entry<String,OptionPages> eldest) {
+    		return size() > MAX_CACHED_FILTERS;
+    	}
+    };
+    private int optionsVersion = 0;
+    private ListBox activeListBox = null;
+    private String activeFilter = "";
+    private final Timer filterTimer = new Timer() {
+    	@Override
+    	public void run() {
+    		if (activeListBox != null) showOptions(activeListBox);
+    	}
+    };
+
+    private OptionPages getOptionPages(String filter) {
+    	if (optionsVersion != getState().optionsVersion) {
+    		// Options have changed in the server
+    		optionCache.clear();
+    		optionsVersion = getState().optionsVersion;
+    	}
+    	OptionPages pages = optionCache.get(filter);
+    	if (pages == null) {
+    		pages = new OptionPages();
+    		optionCache.put(filter, pages);
+    	}
+    	if (pages.captions.isEmpty() && pages.hasMore && !pages.loading) {
+    		pages.loading = true;
+    		rpc.fetchOptions(filter, 0);
+    	}
+    	return pages;
+    }
+
+    private void showOptions(ListBox listBox) {
+    	OptionPages pages = getOptionPages(activeFilter);
+    	String selected = listBox.getElement().getPropertyString(SELECTED_PROPERTY);
+    	listBox.clear();
+    	if (selected != null && !pages.captions.contains(selected)) {
+    		listBox.addItem(selected);
+    	}
+    	for (String caption : pages.captions) {
+    		listBox.addItem(caption);
+    	}
+    	if (pages.hasMore) {
+    		listBox.addItem(MORE_CAPTION, MORE_VALUE);
+    	}
+    	for (int i = 0; i < listBox.getItemCount(); i++) {
+    		if (listBox.getValue(i).equals(selected)) {
+    			listBox.setSelectedIndex(i);
+    			break;
+    		}
+    	}
+    	listBox.setTitle(activeFilter.isEmpty() ? getState().title : activeFilter);
+    }
+
+    private void fetchMoreOptions(ListBox listBox) {
+    	OptionPages pages = getOptionPages(activeFilter);
+    	if (!pages.loading && pages.hasMore) {
+    		pages.loading = true;
+    		rpc.fetchOptions(activeFilter, pages.captions.size());
+    	}
+    	showOptions(listBox);
+    }
+
+    private void setOptions(int version, String filter, int offset, List<String> captions, boolean hasMore) {
+    	if (version != getState().optionsVersion) return;
+    	OptionPages pages = getOptionPages(filter);
+    	if (offset == pages.captions.size()) {
+    		pages.captions.addAll(captions);
+    	}
+    	pages.hasMore = hasMore;
+    	pages.loading = false;
+    	if (activeListBox != null && filter.equals(activeFilter)) {
+    		showOptions(activeListBox);
+    	}
+    }
+
+    private void filterOptions(String filter) {
+    	activeFilter = filter;
+    	filterTimer.schedule(FILTER_DELAY);
+    }
+
+    // Options of the drop down, either from the state or from the shared catalog
+    private List<String> getOptions() {
+    	if (getState().catalogId != null) {
+    		List<String> captions = OptionCatalogCache.get(getState().catalogId, getState().catalogVersion);
+    		return captions != null ? captions : new ArrayList<>();
+    	}
+    	return getState().dropDownList;
+    }
+
+    private void updateOptions() {
+    	captionIndexes.clear();
+    	List<String> options = getOptions();
+    	for (int i = 0; i < options.size(); i++) {
+    		captionIndexes.put(options.get(i), i);
+    	}
+    	dropDownListVersion++;
+    }
+
+    private void updateCatalogReference() {
+    	String id = getState().catalogId;
+    	int version = getState().catalogVersion;
+    	if (id == null ? catalogId == null : id.equals(catalogId) && version == catalogVersion) return;
+    	if (catalogId != null) OptionCatalogCache.release(catalogId, catalogVersion);
+    	catalogId = id;
+    	catalogVersion = version;
+    	if (id != null) OptionCatalogCache.retain(id, version);
+    }
+
+    private void loadCatalog() {
+    	String id = getState().catalogId;
+    	int version = getState().catalogVersion;
+    	if (unregistered || id == null || OptionCatalogCache.get(id, version) != null) return;
+    	if (OptionCatalogCache.request(id, version, this::catalogReceived)) {
+    		fetchingCatalogId = id;
+    		fetchingCatalogVersion = version;
+    		rpc.fetchCatalog();
+    	}
+    }
+
+    private void catalogReceived() {
+    	if (unregistered) return;
+    	if (OptionCatalogCache.get(getState().catalogId, getState().catalogVersion) != null) {
+    		// Cells rendered before the catalog was received are empty
+    		updateOptions();
+    		refreshBody(getGrid());
+    	} else {
+    		// The fetch was cancelled or the version has changed
+    		loadCatalog();
+    	}
+    }
+
+    private void setCatalog(String catalogId, int catalogVersion, List<String> captions) {
+    	String requestedId = fetchingCatalogId;
+    	int requestedVersion = fetchingCatalogVersion;
+    	fetchingCatalogId = null;
+    	OptionCatalogCache.put(catalogId, catalogVersion, captions);
+    	if (requestedId != null && (!requestedId.equals(catalogId) || requestedVersion != catalogVersion)) {
+    		OptionCatalogCache.cancel(requestedId, requestedVersion);
+    	}
+    }
+
+    @Override
+    public void onStateChanged(StateChangeEvent stateChangeEvent) {
+    	super.onStateChanged(stateChangeEvent);
+    	if (stateChangeEvent.hasPropertyChanged("dropDownList")
+    			|| stateChangeEvent.hasPropertyChanged("catalogId")
+    			|| stateChangeEvent.hasPropertyChanged("catalogVersion")) {
+    		if (!unregistered) updateCatalogReference();
+    		loadCatalog();
+    		updateOptions();
+    	}
+    }
+
+    @Override
+    public void onUnregister() {
+    	unregistered = true;
+    	if (fetchingCatalogId != null) {
+    		// Let other connectors waiting for the catalog fetch it
+    		OptionCatalogCache.cancel(fetchingCatalogId, fetchingCatalogVersion);
+    		fetchingCatalogId = null;
+    	}
+    	if (catalogId != null) {
+    		OptionCatalogCache.release(catalogId, catalogVersion);
+    		catalogId = null;
+    	}
+    	super.onUnregister();
+    }
+
+    @Override
+    public String decode(JsonValue value) {
+    	// Options in the list are encoded as index
+    	if (value.getType() == JsonType.NUMBER) {
+    		int index = (int) value.asNumber();
+    		List<String> options = getOptions();
+    		return index >= 0 && index < options.size() ? options.get(index) : null;
+    	}
+    	return super.decode(value);
+    }
+
+    @Override
+    protected void init() {
+    	super.init();
+		registerRpc(SimpleSelectRendererClientRpc.class,
+				new SimpleSelectRendererClientRpc() {
+					@Override
+					public void setDisabledRows(List<String> rowKeys) {
+						// Handled by the widgets
+					}
+
+					@Override
+					public void setOptions(int optionsVersion, String filter, int offset, List<String> captions, boolean hasMore) {
+						SimpleSelectRendererConnector.this.setOptions(optionsVersion, filter, offset, captions, hasMore);
+					}
+
+					@Override
+					public void setCatalog(String catalogId, int catalogVersion, List<String> captions) {
+						SimpleSelectRendererConnector.this.setCatalog(catalogId, catalogVersion, captions);
+					}
+		});
+    }
     
     public class SimpleSelectClientRenderer extends ClickableRenderer<String, ListBox> {
 
         private static final String ROW_KEY_PROPERTY = "rowKey";
 
-        private boolean doesListBoxContainValue(ListBox listBox, String value) {
-            for(int i = 0; i < listBox.getItemCount(); i++) {
-                if (listBox.getValue(i).equals(value)) {
-                    return true;
-                }
-            }
-            return false;
-        }
-
         @Override
         public void render(RendererCellReference cell, String selectedValue,
                            ListBox listBox) {
@@ -59,31 +295,40 @@ public class SimpleSelectRendererConnector extends ClickableRendererConnector<St
             // Generics issue, need a correctly typed column.
 
 
-            List<String> dropDownList = getState().dropDownList;
-            if (dropDownList.size() != listBox.getItemCount()) {
-                listBox.clear();
-                int currentIndex = 0;
-                for (String dropDownEntry : dropDownList) {
-                    listBox.addItem(dropDownEntry);
-                    if (dropDownEntry.equals(selectedValue)) {
-                        listBox.setSelectedIndex(currentIndex);
-                    }
-
-                    currentIndex++;
-                }
-            } else {           	
-                int currentIndex = 0;
-                for (String dropDownEntry : dropDownList) {
-                    if (dropDownEntry.equals(selectedValue)) {
-                        listBox.setSelectedIndex(currentIndex);
-                        break;
-                    }
-                    currentIndex++;
-                }
+            List<String> dropDownList = getOptions();
+            if (getState().lazyOptions) {
+            	// Only the selected value is needed until the drop down is opened
+            	e.setPropertyString(SELECTED_PROPERTY, selectedValue);
+            	if (listBox != activeListBox) {
+            		listBox.clear();
+            		if (selectedValue != null) listBox.addItem(selectedValue);
+            		listBox.setSelectedIndex(0);
+            	}
+            } else {
+            	// Options are filled only when the list has changed
+            	if (e.getPropertyInt(OPTIONS_VERSION_PROPERTY) != dropDownListVersion) {
+            		listBox.clear();
+            		for (String dropDownEntry : dropDownList) {
+            			listBox.addItem(dropDownEntry);
+            		}
+            		e.setPropertyInt(OPTIONS_VERSION_PROPERTY, dropDownListVersion);
+            	}
+            	Integer index = selectedValue != null ? captionIndexes.get(selectedValue) : null;
+            	if (index != null) {
+            		listBox.setSelectedIndex(index);
+            	}
             }
 
             listBox.setEnabled(getGrid().isEnabled() && !getState().readOnly);
-			if (getState().hasIsEnabledProvider) rpc.applyIsEnabledCheck(e.getPropertyString(ROW_KEY_PROPERTY));
+			if (getState().hasIsEnabledProvider) {
+				if (getState().isEnabledProviderMode == IsEnabledProviderMode.ROW_DATA) {
+					if (IsEnabledRowData.isRowDisabled((JsonObject) cell.getRow(), getConnectorId())) {
+						listBox.setEnabled(false);
+					}
+				} else {
+					isEnabledChecks.add(e.getPropertyString(ROW_KEY_PROPERTY));
+				}
+			}
         }
 
         @Override
@@ -104,6 +349,13 @@ public class SimpleSelectRendererConnector extends ClickableRendererConnector<St
             	ListBox lb = (ListBox) event.getSource();
             	Element e = lb.getElement();
         		String newValue = lb.getSelectedValue();
+        		if (MORE_VALUE.equals(newValue)) {
+        			fetchMoreOptions(lb);
+        			return;
+        		}
+        		if (getState().lazyOptions) {
+        			e.setPropertyString(SELECTED_PROPERTY, newValue);
+        		}
         		if (value != null && !value.equals(newValue)) {
         			rpc.onChange(e.getPropertyString(ROW_KEY_PROPERTY),                            
         					newValue);
@@ -122,17 +374,61 @@ public class SimpleSelectRendererConnector extends ClickableRendererConnector<St
             listBox.addFocusHandler(event -> {
             	ListBox field = (ListBox) event.getSource();
         		value = field.getSelectedValue();
+        		if (getState().lazyOptions) {
+        			activeListBox = field;
+        			activeFilter = "";
+        			showOptions(field);
+        		}
             });            
+
+            listBox.addBlurHandler(event -> {
+            	if (activeListBox == event.getSource()) {
+            		activeListBox = null;
+            		filterTimer.cancel();
+            	}
+            });
+
+            // Type-ahead filter for lazy options mode
+            listBox.addKeyPressHandler(event -> {
+            	char c = event.getCharCode();
+            	if (getState().lazyOptions && activeListBox == listBox && c >= ' ') {
+            		event.preventDefault();
+            		event.stopPropagation();
+            		filterOptions(activeFilter + c);
+            	}
+            });
+
+            listBox.addKeyDownHandler(event -> {
+            	if (!getState().lazyOptions || activeListBox != listBox) return;
+            	if (event.getNativeKeyCode() == KeyCodes.KEY_BACKSPACE && !activeFilter.isEmpty()) {
+            		event.preventDefault();
+            		event.stopPropagation();
+            		filterOptions(activeFilter.substring(0, activeFilter.length() - 1));
+            	} else if (event.getNativeKeyCode() == KeyCodes.KEY_ESCAPE && !activeFilter.isEmpty()) {
+            		event.stopPropagation();
+            		filterOptions("");
+            	}
+            });
             
 			registerRpc(SimpleSelectRendererClientRpc.class,
 					new SimpleSelectRendererClientRpc() {
 						@Override
-						public void setEnabled(boolean enabled, String rowKey) {
+						public void setDisabledRows(List<String> rowKeys) {
 	                		Element e = listBox.getElement();
-							if (rowKey.equals(e.getPropertyString(ROW_KEY_PROPERTY))) {
-								listBox.setEnabled(getGrid().isEnabled() && enabled);
+							if (rowKeys.contains(e.getPropertyString(ROW_KEY_PROPERTY))) {
+								listBox.setEnabled(false);
 							}
 						}
+
+						@Override
+						public void setOptions(int optionsVersion, String filter, int offset, List<String> captions, boolean hasMore) {
+							// Handled by the connector
+						}
+
+						@Override
+						public void setCatalog(String catalogId, int catalogVersion, List<String> captions) {
+							// Handled by the connector
+						}
 			});
             
             return listBox;
@@ -165,4 +461,9 @@ public class SimpleSelectRendererConnector extends ClickableRendererConnector<St
         return column.getParent().getWidget();
     }
 
+    private native static void refreshBody(Grid<?> grid)
+	 /*-{    
+	   grid.@com.vaadin.client.widgets.Grid::refreshBody()();
+	 }-*/;
+
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.List;
+
 import com.vaadin.shared.communication.ServerRpc;
 /**
  * 
@@ -9,5 +11,7 @@ import com.vaadin.shared.communication.ServerRpc;
 public interface SimpleSelectRendererServerRpc extends ServerRpc {
 
     public void onChange(String rowKey, String newValue);
-    public void applyIsEnabledCheck(String rowKey);
+    public void applyIsEnabledCheck(List<String> rowKeys);
+    public void fetchOptions(String filter, int offset);
+    public void fetchCatalog();
 }
\ No newline at end of file
@@ -14,5 +14,10 @@ import org.vaadin.grid.cellrenderers.client.shared.EditableRendererState;
 public class SimpleSelectRendererState extends EditableRendererState {
     public List<String> dropDownList = new ArrayList<String>();
     public String title;    
+    public boolean lazyOptions = false;
+    public int pageSize = 50;
+    public int optionsVersion = 0;
+    public String catalogId;
+    public int catalogVersion = 0;
 
 }
\ No newline at end of file
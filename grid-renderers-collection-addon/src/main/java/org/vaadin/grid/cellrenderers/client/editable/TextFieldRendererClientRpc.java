@@ -1,8 +1,10 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.List;
+
 import com.vaadin.shared.communication.ClientRpc;
 
 public interface TextFieldRendererClientRpc extends ClientRpc {
 
-	void setEnabled(boolean enabled, String rowKey);
+	void setDisabledRows(List<String> rowKeys);
 }
@@ -1,5 +1,7 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.List;
+
 import com.google.gwt.dom.client.Style;
 
 import org.vaadin.grid.cellrenderers.editable.TextFieldRenderer;
@@ -7,7 +9,9 @@ import org.vaadin.grid.cellrenderers.editable.TextFieldRenderer;
 import com.google.gwt.core.client.GWT; 
 import com.google.gwt.dom.client.BrowserEvents; 
 import com.google.gwt.dom.client.Element; 
+import com.google.gwt.event.dom.client.KeyCodes;
 import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Timer;
 import com.vaadin.client.communication.RpcProxy; 
 import com.vaadin.client.connectors.ClickableRendererConnector; 
 import com.vaadin.client.connectors.grid.ColumnConnector;
@@ -18,6 +22,10 @@ import com.vaadin.client.widget.grid.RendererCellReference;
 import com.vaadin.client.widgets.Grid; 
 import com.vaadin.shared.ui.Connect; 
 
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledCheckBatcher;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledProviderMode;
+import org.vaadin.grid.cellrenderers.client.shared.IsEnabledRowData;
+
 import elemental.json.JsonObject;
 
 /**
@@ -27,11 +35,41 @@ import elemental.json.JsonObject;
 public class TextFieldRendererConnector extends ClickableRendererConnector<String>  {
     TextFieldRendererServerRpc rpc = RpcProxy.create(
             TextFieldRendererServerRpc.class, this);
+    IsEnabledCheckBatcher isEnabledChecks = new IsEnabledCheckBatcher(
+            rowKeys -> rpc.applyIsEnabledCheck(rowKeys));
 
     public class TextFieldClientRenderer extends ClickableRenderer<String, VTextField> {
 
         private static final String ROW_KEY_PROPERTY = "rowKey";
         private String value = null;
+
+        /*
+         * Timer used with eagerChangeMode timeout. Row key and value are
+         * captured when the change is scheduled, so that the change goes 
+         * to the right row even if the field is re-rendered meanwhile.
+         */
+        private class EagerChangeTimer extends Timer {
+        	private String rowKey;
+        	private String newValue;
+
+        	public void schedule(String rowKey, String newValue, int delay) {
+        		this.rowKey = rowKey;
+        		this.newValue = newValue;
+        		schedule(delay);
+        	}
+
+        	public void flush() {
+        		if (isRunning()) {
+        			cancel();
+        			run();
+        		}
+        	}
+
+        	@Override
+        	public void run() {
+        		rpc.onChange(rowKey, newValue);
+        	}
+        }
         
         private boolean doesTextFieldContainValue(VTextField textField, String value) {
             if(textField.getValue().equals(value)) {
@@ -55,7 +93,15 @@ public class TextFieldRendererConnector extends ClickableRendererConnector<Strin
             // Generics issue, need a correctly typed column.
 
             textField.setReadOnly(!getGrid().isEnabled() || getState().readOnly);
-			if (getState().hasIsEnabledProvider) rpc.applyIsEnabledCheck(e.getPropertyString(ROW_KEY_PROPERTY));
+			if (getState().hasIsEnabledProvider) {
+				if (getState().isEnabledProviderMode == IsEnabledProviderMode.ROW_DATA) {
+					if (IsEnabledRowData.isRowDisabled((JsonObject) cell.getRow(), getConnectorId())) {
+						textField.setReadOnly(true);
+					}
+				} else {
+					isEnabledChecks.add(e.getPropertyString(ROW_KEY_PROPERTY));
+				}
+			}
             
         }
 
@@ -77,6 +123,8 @@ public class TextFieldRendererConnector extends ClickableRendererConnector<Strin
             textField.sinkBitlessEvent(BrowserEvents.CLICK);
             textField.sinkBitlessEvent(BrowserEvents.MOUSEDOWN);
 
+            final EagerChangeTimer eagerChangeTimer = new EagerChangeTimer();
+
             textField.addChangeHandler(changeEvent -> {
             	VTextField field = (VTextField) changeEvent.getSource();
         		String newValue = field.getValue();
@@ -94,6 +142,7 @@ public class TextFieldRendererConnector extends ClickableRendererConnector<Strin
             });
             
             textField.addBlurHandler(event -> { 
+            	eagerChangeTimer.flush();
             	if (getState().blurChangeMode) {
             		VTextField field = (VTextField) event.getSource();
             		String newValue = field.getValue();
@@ -112,10 +161,18 @@ public class TextFieldRendererConnector extends ClickableRendererConnector<Strin
             		String newValue = field.getValue();
             		if (value != null && !value.equals(newValue)) {
             			Element e = field.getElement();
-            			rpc.onChange(e.getPropertyString(ROW_KEY_PROPERTY),                            
-            					newValue);
+            			if (getState().eagerChangeTimeout > 0) {
+            				eagerChangeTimer.schedule(e.getPropertyString(ROW_KEY_PROPERTY),
+            						newValue, getState().eagerChangeTimeout);
+            			} else {
+            				rpc.onChange(e.getPropertyString(ROW_KEY_PROPERTY),                            
+            						newValue);
+            			}
             			value = newValue;
             		}
+            		if (event.getNativeKeyCode() == KeyCodes.KEY_ENTER) {
+            			eagerChangeTimer.flush();
+            		}
             	}            	
             });
             
@@ -130,10 +187,10 @@ public class TextFieldRendererConnector extends ClickableRendererConnector<Strin
 			registerRpc(TextFieldRendererClientRpc.class,
 					new TextFieldRendererClientRpc() {
 						@Override
-						public void setEnabled(boolean enabled, String rowKey) {
+						public void setDisabledRows(List<String> rowKeys) {
 	                		Element e = textField.getElement();
-							if (rowKey.equals(e.getPropertyString(ROW_KEY_PROPERTY))) {
-								textField.setReadOnly(!getGrid().isEnabled() || !enabled);
+							if (rowKeys.contains(e.getPropertyString(ROW_KEY_PROPERTY))) {
+								textField.setReadOnly(true);
 							}
 						}
 			});
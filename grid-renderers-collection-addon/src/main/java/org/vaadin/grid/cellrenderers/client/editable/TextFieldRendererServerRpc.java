@@ -1,5 +1,7 @@
 package org.vaadin.grid.cellrenderers.client.editable;
 
+import java.util.List;
+
 import com.vaadin.shared.communication.ServerRpc;
 
 /**
@@ -8,5 +10,5 @@ import com.vaadin.shared.communication.ServerRpc;
 public interface TextFieldRendererServerRpc extends ServerRpc {
 
     public void onChange(String rowKey, String newValue);
-    public void applyIsEnabledCheck(String rowKey);
+    public void applyIsEnabledCheck(List<String> rowKeys);
 }
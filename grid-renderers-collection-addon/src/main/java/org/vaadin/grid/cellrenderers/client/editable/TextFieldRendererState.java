@@ -9,5 +9,6 @@ public class TextFieldRendererState extends EditableRendererState {
 	public String value = null;
 	public boolean fitToCell = true;
 	public boolean eagerChangeMode = false;
+	public int eagerChangeTimeout = 0;
 	public boolean blurChangeMode = false;
 }
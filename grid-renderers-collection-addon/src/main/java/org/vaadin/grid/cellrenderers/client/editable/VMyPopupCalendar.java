@@ -4,7 +4,6 @@ import java.util.Date;
 
 import com.google.gwt.event.dom.client.ChangeEvent;
 import com.google.gwt.event.dom.client.ClickEvent;
-import com.vaadin.client.VConsole;
 import com.vaadin.client.ui.VPopupCalendar;
 
 /**
@@ -16,7 +15,6 @@ import com.vaadin.client.ui.VPopupCalendar;
  */
 public class VMyPopupCalendar extends VPopupCalendar {
 
-	private static final String PARSE_ERROR_CLASSNAME = "-parseerror";
     private boolean groupFocus;
 
 	@Override
@@ -42,38 +40,8 @@ public class VMyPopupCalendar extends VPopupCalendar {
     }
     
     @Override
-    @SuppressWarnings("deprecation")
     public void onChange(ChangeEvent event) {
-    	if (!text.getText().equals("")) {
-        	try {
-        		String enteredDate = text.getText();
-
-            	setDate(getDateTimeService().parseDate(enteredDate,
-                    getFormatString(), lenient));
-
-            	if (lenient) {
-            		// If date value was leniently parsed, normalize text
-            		// presentation.
-            		// FIXME: Add a description/example here of when this is
-            		// needed
-            		text.setValue(
-                        getDateTimeService().formatDate(getDate(),
-                                getFormatString()), false);
-            	}
-
-            	// remove possibly added invalid value indication
-            	removeStyleName(getStylePrimaryName() + PARSE_ERROR_CLASSNAME);
-        	} catch (final Exception e) {
-            	VConsole.log(e);
-
-            	addStyleName(getStylePrimaryName() + PARSE_ERROR_CLASSNAME);
-            	setDate(null);
-        	}
-    	} else {
-        	setDate(null);
-        	// remove possibly added invalid value indication
-        	removeStyleName(getStylePrimaryName() + PARSE_ERROR_CLASSNAME);
-    	}
+    	PopupCalendarText.parse(this, getFormatString(), lenient, this::setDate);
     }
 
 }
@@ -0,0 +1,48 @@
+package org.vaadin.grid.cellrenderers.client.editable;
+
+import java.util.Date;
+
+import com.google.gwt.event.dom.client.ChangeEvent;
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.vaadin.client.ui.VPopupTimeCalendar;
+
+/**
+ * 
+ * Time resolution version of VMyPopupCalendar. Purpose of this class is to get rid of
+ * extra baggage of updateValue and checkGroupFocus
+ * which is not needed in renderer use
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class VMyPopupTimeCalendar extends VPopupTimeCalendar {
+
+    private boolean groupFocus;
+
+	@Override
+	public void updateValue(Date newDate) {
+		setCurrentDate(newDate);
+	}
+
+    @Override
+    public void onClick(ClickEvent event) {
+        if (event.getSource() == calendarToggle && isEnabled()) {
+            openCalendarPanel();
+        }
+    }
+
+    @Override
+    protected void checkGroupFocus(boolean textFocus) {
+        boolean newGroupFocus = textFocus | hasChildFocus();
+        if (getClient() != null                
+                && groupFocus != newGroupFocus) {
+
+            groupFocus = newGroupFocus;
+        }
+    }
+    
+    @Override
+    public void onChange(ChangeEvent event) {
+    	PopupCalendarText.parse(this, getFormatString(), lenient, this::setDate);
+    }
+
+}
@@ -5,5 +5,6 @@ import com.vaadin.shared.ui.grid.renderers.ClickableRendererState;
 public class EditableRendererState extends ClickableRendererState {
 	public boolean readOnly = false;
 	public boolean hasIsEnabledProvider = false;
+	public IsEnabledProviderMode isEnabledProviderMode = IsEnabledProviderMode.RPC;
 
 }
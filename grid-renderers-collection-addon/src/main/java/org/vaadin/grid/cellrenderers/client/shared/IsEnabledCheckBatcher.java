@@ -0,0 +1,60 @@
+package org.vaadin.grid.cellrenderers.client.shared;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.gwt.core.client.Scheduler;
+
+/**
+ * Helper for editable renderer connectors. Collects the row keys of the cells
+ * rendered during one render pass and sends them to the server in one batch
+ * when the pass is done, instead of one RPC call per cell.
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class IsEnabledCheckBatcher {
+
+	/**
+	 * Callback used to send the collected row keys to the server
+	 */
+	public interface IsEnabledCheckCallback {
+		void applyIsEnabledCheck(List<String> rowKeys);
+	}
+
+	private final IsEnabledCheckCallback callback;
+	private final Set<String> rowKeys = new LinkedHashSet<>();
+	private boolean scheduled = false;
+
+	public IsEnabledCheckBatcher(IsEnabledCheckCallback callback) {
+		this.callback = callback;
+	}
+
+	/**
+	 * Queue the row for enabled check, the queue is flushed after the
+	 * current render pass.
+	 * 
+	 * @param rowKey The row key of the rendered cell
+	 */
+	public void add(String rowKey) {
+		if (rowKey == null) {
+			return;
+		}
+		rowKeys.add(rowKey);
+		if (!scheduled) {
+			scheduled = true;
+			Scheduler.get().scheduleFinally(() -> flush());
+		}
+	}
+
+	private void flush() {
+		scheduled = false;
+		if (rowKeys.isEmpty()) {
+			return;
+		}
+		List<String> batch = new ArrayList<>(rowKeys);
+		rowKeys.clear();
+		callback.applyIsEnabledCheck(batch);
+	}
+}
@@ -0,0 +1,19 @@
+package org.vaadin.grid.cellrenderers.client.shared;
+
+/**
+ * Enum used for defining how EditableRenderer delivers the results of the
+ * isEnabledProvider to the client
+ */
+public enum IsEnabledProviderMode {
+	/**
+	 * Default, client asks the enabled state of the rendered rows from the
+	 * server with one additional round trip per render pass
+	 */
+	RPC,
+	/**
+	 * The provider is applied on the server when the row data is generated
+	 * and the result is sent with the row, no additional round trip is needed.
+	 * The result is updated when the item is refreshed.
+	 */
+	ROW_DATA;
+}
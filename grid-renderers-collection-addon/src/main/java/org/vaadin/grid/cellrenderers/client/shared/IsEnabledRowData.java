@@ -0,0 +1,58 @@
+package org.vaadin.grid.cellrenderers.client.shared;
+
+import elemental.json.JsonObject;
+
+/**
+ * Helper for writing and reading the disabled flags of editable renderers
+ * in the row data. Used with {@link IsEnabledProviderMode#ROW_DATA}.
+ * 
+ * The flags are stored as an object in the row, keyed by the connector id of
+ * the renderer. Only disabled renderers are included.
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class IsEnabledRowData {
+
+	public static final String DISABLED_RENDERERS_KEY = "disabledRenderers";
+
+	private IsEnabledRowData() {
+	}
+
+	/**
+	 * Mark the renderer to be disabled in the given row.
+	 * 
+	 * @param row Row data object
+	 * @param disabledRenderers The object where the flags are stored, i.e. 
+	 *                          existing one from the row or a new empty one
+	 * @param connectorId Connector id of the renderer
+	 */
+	public static void setRowDisabled(JsonObject row, JsonObject disabledRenderers, String connectorId) {
+		disabledRenderers.put(connectorId, true);
+		row.put(DISABLED_RENDERERS_KEY, disabledRenderers);
+	}
+
+	/**
+	 * Get the flags object from the row if present.
+	 * 
+	 * @param row Row data object
+	 * @return The object or null if no renderer is disabled in this row
+	 */
+	public static JsonObject getDisabledRenderers(JsonObject row) {
+		if (row.hasKey(DISABLED_RENDERERS_KEY)) {
+			return row.getObject(DISABLED_RENDERERS_KEY);
+		}
+		return null;
+	}
+
+	/**
+	 * Check if the renderer is disabled in the given row.
+	 * 
+	 * @param row Row data object
+	 * @param connectorId Connector id of the renderer
+	 * @return true if the renderer is disabled in the row
+	 */
+	public static boolean isRowDisabled(JsonObject row, String connectorId) {
+		JsonObject disabledRenderers = getDisabledRenderers(row);
+		return disabledRenderers != null && disabledRenderers.hasKey(connectorId);
+	}
+}
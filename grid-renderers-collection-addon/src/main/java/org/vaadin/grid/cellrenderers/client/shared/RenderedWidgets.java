@@ -0,0 +1,82 @@
+package org.vaadin.grid.cellrenderers.client.shared;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.google.gwt.user.client.ui.Widget;
+import com.vaadin.client.communication.StateChangeEvent;
+
+/**
+ * Helper for renderer connectors. Keeps track of the widgets created by the
+ * renderer, so that only the cells of the renderer can be updated when its
+ * state changes, instead of refreshing the whole Grid body.
+ * 
+ * @param <W> Type of the widget
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class RenderedWidgets<W extends Widget> {
+
+	private final List<W> widgets = new ArrayList<>();
+	// Latest action of the widgets which were not attached, run when they are attached again
+	private final Map<W,Consumer<W>> deferred = new HashMap<>();
+
+	/**
+	 * Track the widget, call this in createWidget
+	 * 
+	 * @param widget The created widget
+	 */
+	public void add(W widget) {
+		widgets.add(widget);
+		widget.addAttachHandler(event -> {
+			if (event.isAttached()) {
+				Consumer<W> action = deferred.remove(widget);
+				if (action != null) action.accept(widget);
+			}
+		});
+	}
+
+	/**
+	 * Run the action for the widgets of the renderer. The action of the widgets which
+	 * are not attached, e.g. the Grid is hidden, is run when they are attached again.
+	 * Widgets of the cells destroyed by the Grid, which have no parent anymore, are not
+	 * tracked anymore.
+	 * 
+	 * @param action The action
+	 */
+	public void forEach(Consumer<W> action) {
+		Iterator<W> iter = widgets.iterator();
+		while (iter.hasNext()) {
+			W widget = iter.next();
+			if (widget.getParent() == null) {
+				// Grid removes the logical parent when the cell is destroyed
+				iter.remove();
+				deferred.remove(widget);
+			} else if (widget.isAttached()) {
+				action.accept(widget);
+			} else {
+				deferred.put(widget, action);
+			}
+		}
+	}
+
+	/**
+	 * Check whether any of the given state properties changed. The initial state 
+	 * change is not counted, as the widgets are created with the initial state.
+	 * 
+	 * @param stateChangeEvent The state change event
+	 * @param properties Names of the state properties affecting the rendering
+	 * @return true if the cells need to be updated
+	 */
+	public static boolean hasChanged(StateChangeEvent stateChangeEvent, String... properties) {
+		if (stateChangeEvent.isInitialStateChange()) return false;
+		for (String property : properties) {
+			if (stateChangeEvent.hasPropertyChanged(property)) return true;
+		}
+		return false;
+	}
+}
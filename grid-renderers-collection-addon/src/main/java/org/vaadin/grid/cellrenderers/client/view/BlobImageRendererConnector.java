@@ -29,12 +29,46 @@ public class BlobImageRendererConnector extends
             image.addClickHandler(this);
             if (state.width > -1) image.setWidth(state.width+"px");
             if (state.height > -1) image.setWidth(state.height+"px");
+            if (state.lazyLoading) {
+            	// Browser defers loading until the image is near the viewport
+            	image.getElement().setAttribute("loading", "lazy");
+            	image.getElement().setAttribute("decoding", "async");
+            }
+            if (state.placeholder != null) {
+            	image.getElement().getStyle().setProperty("backgroundSize", "cover");
+            	// Placeholder would show behind transparent images
+            	image.addLoadHandler(event -> clearPlaceholder(image));
+            }
             return image;
         }
 
+        private void showPlaceholder(Image image) {
+        	String placeholder = getState().placeholder;
+        	if (placeholder != null) {
+        		image.getElement().getStyle().setBackgroundImage(
+        				"url(\""+getConnection().translateVaadinUri(placeholder)+"\")");
+        	}
+        }
+
+        private void clearPlaceholder(Image image) {
+        	if (getState().placeholder != null) {
+        		image.getElement().getStyle().clearBackgroundImage();
+        	}
+        }
+
     	@Override
     	public void render(RendererCellReference cell, String imageData, Image image) {
-            image.setUrl(imageData);
+            // Images served by URL use app:// protocol which needs to be translated
+            String url = getConnection().translateVaadinUri(imageData);
+            if (url.equals(image.getUrl())) return;
+            // Placeholder is not shown for the null values
+            if (imageData == null || BlobImageRendererState.NULL_IMAGE.equals(imageData)) {
+            	clearPlaceholder(image);
+            } else {
+            	showPlaceholder(image);
+            }
+            // Setting the new source cancels the pending load of the row scrolled away
+            image.setUrl(url);
     	}
     }
     
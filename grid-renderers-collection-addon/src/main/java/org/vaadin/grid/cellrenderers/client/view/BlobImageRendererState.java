@@ -6,6 +6,13 @@ import com.vaadin.shared.ui.grid.renderers.AbstractRendererState;
  * @author Tatu Lund - Vaadin
  */
 public final class BlobImageRendererState extends AbstractRendererState {
+	/**
+	 * Transparent 1px image used for the null values
+	 */
+	public static final String NULL_IMAGE = "data:image/gif;base64,R0lGODlhAQABAIAAAP///wAAACwAAAAAAQABAAACAkQBADs=";
+
 	public int width = -1;
 	public int height = -1;	
+	public boolean lazyLoading = false;
+	public String placeholder = null;
 }
@@ -0,0 +1,19 @@
+package org.vaadin.grid.cellrenderers.client.view;
+
+/**
+ * Formats the row index for RowIndexRenderer. Custom formatters can be registered 
+ * in the client side code with {@link RowIndexFormatters#register(String, RowIndexFormatter)}
+ * and taken into use with RowIndexRenderer.setCustomRowIndexMode(String).
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public interface RowIndexFormatter {
+
+	/**
+	 * Format the row index
+	 * 
+	 * @param index The row index with the offset applied
+	 * @return The formatted index
+	 */
+	String format(int index);
+}
@@ -0,0 +1,112 @@
+package org.vaadin.grid.cellrenderers.client.view;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The formatters of the row index modes. Formatting uses precomputed tables, and
+ * the formatted values of the first indices are cached, so rendering the visible 
+ * rows again does not allocate new Strings.
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class RowIndexFormatters {
+
+	private static final int CACHE_SIZE = 1024;
+
+	private static final String[] ROMAN_HUNDREDS = { "", "C", "CC", "CCC", "CD", "D", "DC", "DCC", "DCCC", "CM" };
+	private static final String[] ROMAN_TENS = { "", "X", "XX", "XXX", "XL", "L", "LX", "LXX", "LXXX", "XC" };
+	private static final String[] ROMAN_ONES = { "", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX" };
+	private static final String[] ORDINAL_SUFFIXES = { "th", "st", "nd", "rd", "th", "th", "th", "th", "th", "th" };
+
+	private static final Map<String,RowIndexFormatter> customFormatters = new HashMap<>();
+
+	private static final RowIndexFormatter NORMAL = cached(index -> String.valueOf(index));
+	private static final RowIndexFormatter ORDINAL = cached(RowIndexFormatters::ordinal);
+	private static final RowIndexFormatter ROMAN = cached(RowIndexFormatters::roman);
+	private static final RowIndexFormatter ALPHABETIC = cached(RowIndexFormatters::alphabetic);
+
+	private RowIndexFormatters() {
+	}
+
+	/**
+	 * Register custom formatter, which can be taken into use with 
+	 * RowIndexRenderer.setCustomRowIndexMode(String). The formatted values of 
+	 * the first indices are cached.
+	 * 
+	 * @param name The name of the custom mode
+	 * @param formatter The formatter
+	 */
+	public static void register(String name, RowIndexFormatter formatter) {
+		customFormatters.put(name, cached(formatter));
+	}
+
+	/**
+	 * Get the formatter for the mode
+	 * 
+	 * @param mode The mode
+	 * @param customMode The name of the custom mode, used with {@link RowIndexMode#CUSTOM}
+	 * @return The formatter, the formatter of NORMAL mode if custom mode has not been registered
+	 */
+	public static RowIndexFormatter get(RowIndexMode mode, String customMode) {
+		if (mode == null) return NORMAL;
+		switch (mode) {
+		case ORDINAL:
+			return ORDINAL;
+		case ROMAN:
+			return ROMAN;
+		case ALPHABETIC:
+			return ALPHABETIC;
+		case CUSTOM:
+			RowIndexFormatter formatter = customFormatters.get(customMode);
+			return formatter != null ? formatter : NORMAL;
+		default:
+			return NORMAL;
+		}
+	}
+
+	private static RowIndexFormatter cached(final RowIndexFormatter formatter) {
+		final String[] cache = new String[CACHE_SIZE];
+		return index -> {
+			if (index < 0 || index >= CACHE_SIZE) return formatter.format(index);
+			String value = cache[index];
+			if (value == null) {
+				value = formatter.format(index);
+				cache[index] = value;
+			}
+			return value;
+		};
+	}
+
+	private static String ordinal(int index) {
+		int mod100 = Math.abs(index % 100);
+		String suffix = mod100 >= 11 && mod100 <= 13 ? "th" : ORDINAL_SUFFIXES[mod100 % 10];
+		return new StringBuilder(12).append(index).append(suffix).toString();
+	}
+
+	private static String roman(int index) {
+		if (index <= 0) return "";
+		StringBuilder sb = new StringBuilder(16);
+		for (int i = index / 1000; i > 0; i--) {
+			sb.append('M');
+		}
+		sb.append(ROMAN_HUNDREDS[(index / 100) % 10]);
+		sb.append(ROMAN_TENS[(index / 10) % 10]);
+		sb.append(ROMAN_ONES[index % 10]);
+		return sb.toString();
+	}
+
+	// Spreadsheet style column letters, 1 = A, 26 = Z, 27 = AA
+	private static String alphabetic(int index) {
+		if (index <= 0) return "";
+		char[] chars = new char[8];
+		int pos = chars.length;
+		int n = index;
+		while (n > 0) {
+			n--;
+			chars[--pos] = (char) ('A' + n % 26);
+			n /= 26;
+		}
+		return new String(chars, pos, chars.length - pos);
+	}
+}
@@ -15,5 +15,13 @@ public enum RowIndexMode {
 	/**
 	 * Set indeces to be roman literals.
 	 */ 
-	ROMAN;
+	ROMAN,
+	/**
+	 * Set indeces to be letters, i.e. A, B, ... Z, AA, AB, ...
+	 */ 
+	ALPHABETIC,
+	/**
+	 * Use custom formatter registered in the client side, see RowIndexFormatters
+	 */ 
+	CUSTOM;
 }
@@ -8,4 +8,5 @@ import com.vaadin.shared.ui.grid.renderers.AbstractRendererState;
 public final class RowIndexRendererState extends AbstractRendererState {
 	public int offset = 0;
 	public RowIndexMode rowIndexMode = RowIndexMode.NORMAL;
+	public String customMode = null;
 }
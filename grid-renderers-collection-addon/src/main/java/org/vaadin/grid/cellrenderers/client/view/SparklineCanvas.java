@@ -0,0 +1,148 @@
+package org.vaadin.grid.cellrenderers.client.view;
+
+import com.google.gwt.canvas.client.Canvas;
+import com.google.gwt.canvas.dom.client.Context2d;
+import com.google.gwt.i18n.client.NumberFormat;
+
+/**
+ * Draws sparkline to a canvas element, used by SparklineRendererConnector in
+ * {@link SparklineDrawMode#CANVAS} mode. Normal range is drawn as the band of one
+ * standard deviation around the average, see {@link SparklineStatistics}.
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public class SparklineCanvas {
+
+	private static final double DOT_RADIUS = 1.5;
+	private static final NumberFormat fmt = NumberFormat.getDecimalFormat().overrideFractionDigits(2, 2);
+
+	private SparklineCanvas() {
+	}
+
+	/**
+	 * Create canvas sized for the sparkline, taking the device pixel ratio into account
+	 *
+	 * @param state The state of the renderer
+	 * @return The canvas, null if canvas is not supported by the browser
+	 */
+	public static Canvas create(SparklineRendererState state) {
+		Canvas canvas = Canvas.createIfSupported();
+		if (canvas == null) return null;
+		resize(canvas, state);
+		return canvas;
+	}
+
+	/**
+	 * Update the size of the canvas to the size in the state
+	 *
+	 * @param canvas The canvas
+	 * @param state The state of the renderer
+	 */
+	public static void resize(Canvas canvas, SparklineRendererState state) {
+		double ratio = getDevicePixelRatio();
+		canvas.setCoordinateSpaceWidth((int) Math.ceil(state.width * ratio));
+		canvas.setCoordinateSpaceHeight((int) Math.ceil(state.height * ratio));
+		canvas.setPixelSize(state.width, state.height);
+	}
+
+	/**
+	 * Draw the sparkline
+	 *
+	 * @param canvas The canvas
+	 * @param data The series
+	 * @param stats Statistics of the series
+	 * @param state The state of the renderer
+	 */
+	public static void draw(Canvas canvas, double[] data, SparklineStatistics stats, SparklineRendererState state) {
+		Context2d ctx = canvas.getContext2d();
+		double ratio = (double) canvas.getCoordinateSpaceWidth() / state.width;
+		ctx.setTransform(ratio, 0, 0, ratio, 0, 0);
+		ctx.clearRect(0, 0, state.width, state.height);
+		if (data.length == 0) return;
+
+		double min = stats.getMin();
+		double max = stats.getMax();
+
+		// Keep room for the dots and the path width inside the canvas
+		double pad = Math.max(DOT_RADIUS, state.pathWidth / 2.0) + 0.5;
+		double plotHeight = state.height - 2 * pad;
+		double plotWidth = state.width - 2 * pad;
+		double range = max - min;
+		double xStep = data.length > 1 ? plotWidth / (data.length - 1) : 0;
+
+		if (state.normalRangeVisible) {
+			double top = y(stats.getNormalHigh(), min, range, pad, plotHeight);
+			double bottom = y(stats.getNormalLow(), min, range, pad, plotHeight);
+			ctx.setFillStyle(state.normalRangeColor);
+			ctx.fillRect(0, top, state.width, bottom - top);
+		}
+
+		if (state.averageVisible) {
+			double avgY = y(stats.getAverage(), min, range, pad, plotHeight);
+			ctx.setStrokeStyle(state.averageColor);
+			ctx.setLineWidth(1);
+			ctx.beginPath();
+			ctx.moveTo(0, avgY);
+			ctx.lineTo(state.width, avgY);
+			ctx.stroke();
+		}
+
+		// The whole path is one canvas operation, no DOM nodes per point
+		ctx.setStrokeStyle(state.pathColor);
+		ctx.setLineWidth(state.pathWidth);
+		ctx.beginPath();
+		ctx.moveTo(pad, y(data[0], min, range, pad, plotHeight));
+		for (int i = 1; i < data.length; i++) {
+			ctx.lineTo(pad + i * xStep, y(data[i], min, range, pad, plotHeight));
+		}
+		ctx.stroke();
+
+		if (state.minmaxDotsVisible) {
+			dot(ctx, pad + stats.getMinIndex() * xStep, y(min, min, range, pad, plotHeight), state.minmaxColor);
+			dot(ctx, pad + stats.getMaxIndex() * xStep, y(max, min, range, pad, plotHeight), state.minmaxColor);
+		}
+		if (state.valueDotVisible) {
+			int last = data.length - 1;
+			dot(ctx, pad + last * xStep, y(data[last], min, range, pad, plotHeight), state.valueColor);
+		}
+	}
+
+	/**
+	 * Build the label shown next to the canvas, with the caption, the value and the
+	 * minimum and maximum depending on the state
+	 *
+	 * @param data The series
+	 * @param stats Statistics of the series
+	 * @param state The state of the renderer
+	 * @return The label text
+	 */
+	public static String getLabel(double[] data, SparklineStatistics stats, SparklineRendererState state) {
+		StringBuilder label = new StringBuilder();
+		if (state.caption != null) label.append(state.caption).append(' ');
+		if (data.length == 0) return label.toString();
+		if (state.valueVisible) {
+			label.append(fmt.format(data[data.length - 1])).append(' ');
+		}
+		if (state.minmaxVisible) {
+			label.append(fmt.format(stats.getMin())).append(" - ").append(fmt.format(stats.getMax()));
+		}
+		return label.toString().trim();
+	}
+
+	private static double y(double value, double min, double range, double pad, double plotHeight) {
+		if (range == 0) return pad + plotHeight / 2;
+		return pad + plotHeight - (value - min) / range * plotHeight;
+	}
+
+	private static void dot(Context2d ctx, double x, double y, String color) {
+		ctx.setFillStyle(color);
+		ctx.beginPath();
+		ctx.arc(x, y, DOT_RADIUS, 0, 2 * Math.PI);
+		ctx.fill();
+	}
+
+	private static native double getDevicePixelRatio()
+	/*-{
+		return $wnd.devicePixelRatio || 1;
+	}-*/;
+}
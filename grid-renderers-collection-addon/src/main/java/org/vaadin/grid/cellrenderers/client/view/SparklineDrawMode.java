@@ -0,0 +1,16 @@
+package org.vaadin.grid.cellrenderers.client.view;
+
+/**
+ * Enum used for defining how the SparklineRenderer draws the sparklines
+ */ 
+public enum SparklineDrawMode {
+	/**
+	 * Default, the sparkline is drawn with SVG by Sparklines widget
+	 */ 
+	SVG,
+	/**
+	 * The sparkline is drawn to a single canvas element per cell, which is faster
+	 * with many visible sparklines
+	 */ 
+	CANVAS;
+}
@@ -0,0 +1,8 @@
+package org.vaadin.grid.cellrenderers.client.view;
+
+import com.vaadin.shared.communication.ClientRpc;
+
+public interface SparklineRendererClientRpc extends ClientRpc {
+
+	void appendPoints(String rowKey, double[] points);
+}
@@ -1,15 +1,18 @@
 package org.vaadin.grid.cellrenderers.client.view;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.vaadin.grid.cellrenderers.client.shared.RenderedWidgets;
 import org.vaadin.sparklines.client.ui.SparklinesGWT;
 
+import com.google.gwt.canvas.client.Canvas;
 import com.google.gwt.i18n.client.NumberFormat;
 import com.google.gwt.user.client.ui.FlowPanel;
-import com.vaadin.client.widgets.Grid; 
 import com.google.gwt.user.client.ui.HTML;
 import com.vaadin.client.communication.StateChangeEvent;
 import com.vaadin.client.connectors.AbstractRendererConnector;
-import com.vaadin.client.connectors.grid.ColumnConnector;
-import com.vaadin.client.connectors.grid.GridConnector;
 import com.vaadin.client.renderers.WidgetRenderer;
 import com.vaadin.client.widget.grid.RendererCellReference;
 import com.vaadin.shared.ui.Connect;
@@ -51,6 +54,17 @@ public class SparklineRendererConnector extends
     	 @Override
     	 public FlowPanel createWidget() {
     		 SparklineRendererState state = getState();
+    		 if (state.drawMode == SparklineDrawMode.CANVAS) {
+    			 Canvas canvas = SparklineCanvas.create(state);
+    			 if (canvas != null) {
+    				 FlowPanel p = new FlowPanel();
+    				 p.add(canvas);
+    				 p.add(new HTML());
+    				 p.addStyleName("v-widget sparkline sparkline-canvas");
+    				 widgets.add(p);
+    				 return p;
+    			 }
+    		 }
     		 SparklinesGWT s = new SparklinesGWT(null, state.width, state.height);
         	 s.setCaption(state.caption);
     		 updateSettings(s);
@@ -63,6 +77,7 @@ public class SparklineRendererConnector extends
         	 p.add(s);
         	 p.add(html);
         	 p.addStyleName("v-widget sparkline");
+        	 widgets.add(p);
 
         	 return p;
     	 }
@@ -70,46 +85,137 @@ public class SparklineRendererConnector extends
     	@Override
         public void render(RendererCellReference cell, double[] data,
         	            FlowPanel widget) {
+    		JsonObject row = (JsonObject) cell.getRow();
+    		String rowKey = getRowKey(row);
+    		widget.getElement().setPropertyString(ROW_KEY_PROPERTY, rowKey);
+    		RowSeries series = rowSeries.get(rowKey);
+    		if (series == null || series.row != row) {
+    			SparklineStatistics stats;
+    			if (getState().statisticsHeader && data.length >= SparklineStatistics.HEADER_LENGTH) {
+    				// Statistics were computed by the server
+    				stats = SparklineStatistics.fromHeader(data);
+    				data = Arrays.copyOfRange(data, SparklineStatistics.HEADER_LENGTH, data.length);
+    			} else {
+    				stats = SparklineStatistics.compute(data);
+    			}
+    			series = new RowSeries(row, data, stats);
+    			rowSeries.put(rowKey, series);
+    		}
+    		// If the row data has not been refreshed, the series may have appended points
+    		draw(series, widget);
+    	}
+
+    	private void draw(RowSeries series, FlowPanel widget) {
+    		if (widget.getWidget(0) instanceof Canvas) {
+    			drawCanvas(series, widget);
+    			return;
+    		}
     		SparklinesGWT s = (SparklinesGWT) widget.getWidget(0);
     		updateSettings(s);
  
     		HTML html = (HTML) widget.getWidget(1);
-    		double change = data[data.length - 1] - data[0];
-    		double min = data[0];
-    		double max = data[1];
-    		for (int i = 1; i < data.length; i++) {
-    			if (data[i] < min) {
-    				min = data[i];
-    			}
-    			if (data[i] > max) {
-    				max = data[i];
-    			}
+    		s.setData(series.data);
+    		s.setDisplayRange((int) (series.stats.getMin() - 5), (int) (series.stats.getMax() + 5));
+    		if (series.stats.getChange() >= 0) {
+    			html.setStyleName("going-up");
+    		} else {
+    			html.setStyleName("going-down");
     		}
-    		s.setData(data);
-    		s.setDisplayRange((int) (min - 5), (int) (max + 5));
-    		if (change >= 0) {
+    	}
+
+    	private void drawCanvas(RowSeries series, FlowPanel widget) {
+    		SparklineRendererState state = getState();
+    		SparklineCanvas.draw((Canvas) widget.getWidget(0), series.data, series.stats, state);
+    		HTML html = (HTML) widget.getWidget(1);
+    		html.setText(SparklineCanvas.getLabel(series.data, series.stats, state));
+    		if (series.stats.getChange() >= 0) {
     			html.setStyleName("going-up");
     		} else {
     			html.setStyleName("going-down");
     		}
     	}
+
+    	private void redraw() {
+    		widgets.forEach(widget -> {
+    			RowSeries series = rowSeries.get(widget.getElement().getPropertyString(ROW_KEY_PROPERTY));
+    			if (series == null) return;
+    			if (widget.getWidget(0) instanceof Canvas) {
+    				SparklineCanvas.resize((Canvas) widget.getWidget(0), getState());
+    			} else {
+    				((SparklinesGWT) widget.getWidget(0)).setCaption(getState().caption);
+    			}
+    			draw(series, widget);
+    		});
+    	}
+
+    	private void appendPoints(String rowKey, double[] points) {
+    		RowSeries series = rowSeries.get(rowKey);
+    		if (series == null) return;
+    		double[] data = series.data;
+    		int window = getState().appendWindow > 0 ? getState().appendWindow : data.length;
+    		int length = Math.min(window, data.length + points.length);
+    		double[] appended = new double[length];
+    		// Oldest points slide out of the window
+    		int fromData = Math.max(0, length - points.length);
+    		System.arraycopy(data, data.length - fromData, appended, 0, fromData);
+    		System.arraycopy(points, points.length - (length - fromData), appended, fromData, length - fromData);
+    		series.data = appended;
+    		series.stats = SparklineStatistics.compute(appended);
+    		widgets.forEach(widget -> {
+    			if (rowKey.equals(widget.getElement().getPropertyString(ROW_KEY_PROPERTY))) {
+    				draw(series, widget);
+    			}
+    		});
+    	}
+    }
+
+    // Series of the rendered rows, kept as long as the row data is not refreshed
+    private static class RowSeries {
+    	private final JsonObject row;
+    	private double[] data;
+    	private SparklineStatistics stats;
+
+    	private RowSeries(JsonObject row, double[] data, SparklineStatistics stats) {
+    		this.row = row;
+    		this.data = data;
+    		this.stats = stats;
+    	}
+    }
+
+    private static final String ROW_KEY_PROPERTY = "rowKey";
+    private static final String[] VISUAL_PROPERTIES = { "width", "height", "pathWidth", "caption",
+    		"pathColor", "valueColor", "normalRangeColor", "averageColor", "minmaxColor",
+    		"normalRangeVisible", "averageVisible", "valueVisible", "minmaxVisible", 
+    		"minmaxDotsVisible", "valueDotVisible" };
+    private static final int MAX_ROW_SERIES = 1000;
+    private final Map<String,RowSeries> rowSeries = new LinkedHashMap<String,RowSeries>(16, 0.75f, true) {
+    	@Override
+    	protected boolean removeEldestEntry(Map.Entry<String,RowSeries> eldest) {
+    		return size() > MAX_ROW_SERIES;
+    	}
+    };
+    private final RenderedWidgets<FlowPanel> widgets = new RenderedWidgets<>();
+
+    @Override
+    protected void init() {
+        super.init();
+        registerRpc(SparklineRendererClientRpc.class, new SparklineRendererClientRpc() {
+			@Override
+			public void appendPoints(String rowKey, double[] points) {
+				getRenderer().appendPoints(rowKey, points);
+			}
+        });
     }
-     
+
     @Override
     public void onStateChanged(StateChangeEvent stateChangeEvent) {
         super.onStateChanged(stateChangeEvent);
-        Grid grid = getGrid();
-        grid.requestRefreshBody();
-//		refresh(grid);
+        // Only visual settings need redraw, and only the cells of this renderer
+        if (RenderedWidgets.hasChanged(stateChangeEvent, VISUAL_PROPERTIES)) {
+        	getRenderer().redraw();
+        }
     }
  
-    private native static void refresh(Grid<?> grid)
-	 /*-{    
-	   grid.@com.vaadin.client.widgets.Grid::refreshHeader()();
-	   grid.@com.vaadin.client.widgets.Grid::refreshBody()();
-	   grid.@com.vaadin.client.widgets.Grid::refreshFooter()();
-	 }-*/;
-    
     @Override
     protected SparklineClientRenderer createRenderer() {
         return new SparklineClientRenderer();
@@ -137,9 +243,4 @@ public class SparklineRendererConnector extends
     	return (SparklineRendererState) super.getState();
     }
  
-    private Grid<JsonObject> getGrid() {
-    	ColumnConnector column = (ColumnConnector) getParent();
-        return column.getParent().getWidget();
-    }
-    
 }
@@ -26,4 +26,10 @@ public class SparklineRendererState extends AbstractRendererState {
 	public boolean minmaxVisible = false;
 	public boolean minmaxDotsVisible = false;
 	public boolean valueDotVisible = false;
+	
+	public int appendWindow = 0;
+	
+	public SparklineDrawMode drawMode = SparklineDrawMode.SVG;
+	
+	public boolean statisticsHeader = false;
 }
@@ -0,0 +1,160 @@
+package org.vaadin.grid.cellrenderers.client.view;
+
+/**
+ * Summary statistics of a sparkline series. Computed either on the server and
+ * sent as header of the series, see SparklineRenderer.setServerStatistics(boolean),
+ * or on the client. Normal range is one standard deviation around the average.
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public class SparklineStatistics {
+
+	/**
+	 * Number of values in the header preceding the series
+	 */
+	public static final int HEADER_LENGTH = 8;
+
+	// Empty series has zero statistics
+	private double min = 0;
+	private double max = 0;
+	private int minIndex = 0;
+	private int maxIndex = 0;
+	private double first;
+	private double last;
+	private int count = 0;
+	// Running mean and sum of squared differences (Welford)
+	private double mean = 0;
+	private double m2 = 0;
+
+	private double normalLow;
+	private double normalHigh;
+	private boolean header = false;
+
+	/**
+	 * Add the next value of the series
+	 *
+	 * @param value The value
+	 */
+	public void add(double value) {
+		if (count == 0) {
+			min = value;
+			max = value;
+			first = value;
+		} else if (value < min) {
+			min = value;
+			minIndex = count;
+		} else if (value > max) {
+			max = value;
+			maxIndex = count;
+		}
+		last = value;
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+	}
+
+	private void computeNormalRange() {
+		double deviation = count > 0 ? Math.sqrt(m2 / count) : 0;
+		normalLow = Math.max(min, mean - deviation);
+		normalHigh = Math.min(max, mean + deviation);
+	}
+
+	/**
+	 * Map the indexes of the minimum and the maximum to the downsampled series
+	 *
+	 * @param length Length of the series the statistics were computed from
+	 * @param sampledLength Length of the downsampled series
+	 */
+	public void scaleIndexes(int length, int sampledLength) {
+		if (length < 2 || sampledLength < 2) return;
+		double scale = (double) (sampledLength - 1) / (length - 1);
+		minIndex = (int) Math.round(minIndex * scale);
+		maxIndex = (int) Math.round(maxIndex * scale);
+	}
+
+	/**
+	 * Compute statistics of the series
+	 *
+	 * @param data The series
+	 * @return The statistics
+	 */
+	public static SparklineStatistics compute(double[] data) {
+		SparklineStatistics stats = new SparklineStatistics();
+		for (int i = 0; i < data.length; i++) {
+			stats.add(data[i]);
+		}
+		return stats;
+	}
+
+	/**
+	 * Read statistics from the header in the beginning of the array
+	 *
+	 * @param array Array starting with the header
+	 * @return The statistics
+	 */
+	public static SparklineStatistics fromHeader(double[] array) {
+		SparklineStatistics stats = new SparklineStatistics();
+		stats.min = array[0];
+		stats.max = array[1];
+		stats.minIndex = (int) array[2];
+		stats.maxIndex = (int) array[3];
+		stats.mean = array[4];
+		stats.normalLow = array[5];
+		stats.normalHigh = array[6];
+		stats.first = 0;
+		stats.last = array[7];
+		stats.count = array.length - HEADER_LENGTH;
+		stats.header = true;
+		return stats;
+	}
+
+	/**
+	 * Get the statistics as header to be sent before the series
+	 *
+	 * @return The header values
+	 */
+	public double[] toHeader() {
+		if (!header) computeNormalRange();
+		return new double[] { min, max, minIndex, maxIndex, mean, normalLow, normalHigh, getChange() };
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public int getMinIndex() {
+		return minIndex;
+	}
+
+	public int getMaxIndex() {
+		return maxIndex;
+	}
+
+	public double getAverage() {
+		return mean;
+	}
+
+	public double getNormalLow() {
+		if (!header) computeNormalRange();
+		return normalLow;
+	}
+
+	public double getNormalHigh() {
+		if (!header) computeNormalRange();
+		return normalHigh;
+	}
+
+	/**
+	 * Get the change between the first and the last value
+	 *
+	 * @return The change
+	 */
+	public double getChange() {
+		return last - first;
+	}
+}
@@ -0,0 +1,12 @@
+package org.vaadin.grid.cellrenderers.client.view;
+
+import com.vaadin.shared.ui.Connect;
+
+/**
+ * StreamImageRenderer uses the same client side implementation as BlobImageRenderer
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+@Connect(org.vaadin.grid.cellrenderers.view.StreamImageRenderer.class)
+public class StreamImageRendererConnector extends BlobImageRendererConnector {
+}
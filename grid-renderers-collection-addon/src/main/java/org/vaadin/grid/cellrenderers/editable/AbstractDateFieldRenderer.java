@@ -0,0 +1,124 @@
+package org.vaadin.grid.cellrenderers.editable;
+
+import java.util.List;
+
+import org.vaadin.grid.cellrenderers.EditableRenderer;
+import org.vaadin.grid.cellrenderers.client.editable.DateFieldEncoding;
+import org.vaadin.grid.cellrenderers.client.editable.DateFieldRendererClientRpc;
+import org.vaadin.grid.cellrenderers.client.editable.DateFieldRendererServerRpc;
+import org.vaadin.grid.cellrenderers.client.editable.DateFieldRendererState;
+
+import com.vaadin.server.Setter;
+import com.vaadin.ui.Grid;
+import com.vaadin.ui.Grid.Column;
+
+import elemental.json.Json;
+import elemental.json.JsonValue;
+
+/**
+ * Common base of the date renderers. The values are sent between the server and the
+ * client as epoch day or epoch milliseconds number, see {@link DateFieldEncoding}, and
+ * they are converted only once on each side.
+ * 
+ * @see DateFieldRenderer
+ * @see DateTimeFieldRenderer
+ * @see InstantFieldRenderer
+ * @see AbstractDateTimeFieldRenderer
+ * 
+ * @param <T> Bean type of the Grid where this Renderer is being used
+ * @param <V> Type of the date value
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public abstract class AbstractDateFieldRenderer<T,V> extends EditableRenderer<T,V> {
+
+	/**
+	 * Constructor
+	 * 
+	 * @param presentationType Type of the date value
+	 * @param setter Setter function from underlying Bean which sets the value
+	 * @param encoding Encoding of the value matching the type
+	 */
+	protected AbstractDateFieldRenderer(Class<V> presentationType, final Setter<T,V> setter, DateFieldEncoding encoding) {
+		super(presentationType);
+
+		getState().encoding = encoding;
+
+        registerRpc(new DateFieldRendererServerRpc() {
+
+            public void onChange(String rowKey, Long newValue) {
+
+            	Grid<T> grid = getParentGrid();
+                T item = grid.getDataCommunicator().getKeyMapper().get(rowKey);
+                Column<T,V> column = getParent();
+                
+                V newDate = newValue != null ? fromEpochValue(newValue) : null;
+                setter.accept(item,newDate);
+            	grid.getDataProvider().refreshItem(item);
+                
+                fireItemEditEvent(item, column, newDate);
+            }
+
+			@Override
+			public void applyIsEnabledCheck(List<String> rowKeys) {
+				List<String> disabledRowKeys = applyIsEnabledProvider(rowKeys);
+				if (!disabledRowKeys.isEmpty()) {
+					getRPC().setDisabledRows(disabledRowKeys);
+				}
+			}
+
+        });
+	}
+
+	/**
+	 * Convert the value to the number sent to the client
+	 * 
+	 * @param value The value, not null
+	 * @return Epoch day or epoch milliseconds depending on the encoding
+	 */
+	protected abstract long toEpochValue(V value);
+
+	/**
+	 * Convert the number received from the client to value
+	 * 
+	 * @param epochValue Epoch day or epoch milliseconds depending on the encoding
+	 * @return The value
+	 */
+	protected abstract V fromEpochValue(long epochValue);
+
+    /**
+     * Used internally
+     */
+    @Override
+    public JsonValue encode(V value) {
+        if (value == null) {
+            return Json.createNull();
+        } else {
+            return Json.create(toEpochValue(value));
+        }
+    }
+	
+    @Override
+    protected DateFieldRendererState getState() {
+    	return (DateFieldRendererState) super.getState();
+    }
+
+    @Override
+    protected DateFieldRendererState getState(boolean markAsDirty) {
+    	return (DateFieldRendererState) super.getState(markAsDirty);
+    }
+    
+    /**
+     * When blurChangeMode is set to true the text field emits value
+     *  change on blur event. Default is false. 
+     * 
+     * @param blurChangeMode Boolean value
+     */
+    public void setBlurChangeMode(boolean blurChangeMode) {
+    	getState().blurChangeMode = blurChangeMode;
+    }
+    
+    private DateFieldRendererClientRpc getRPC() {
+        return getRpcProxy(DateFieldRendererClientRpc.class);
+    }
+}
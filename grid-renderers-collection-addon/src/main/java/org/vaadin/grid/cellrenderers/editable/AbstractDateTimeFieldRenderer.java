@@ -0,0 +1,52 @@
+package org.vaadin.grid.cellrenderers.editable;
+
+import org.vaadin.grid.cellrenderers.client.editable.DateFieldEncoding;
+
+import com.vaadin.server.Setter;
+import com.vaadin.shared.ui.datefield.DateTimeResolution;
+
+/**
+ * Common base of the date renderers having time resolution
+ * 
+ * @see DateTimeFieldRenderer
+ * @see InstantFieldRenderer
+ * 
+ * @param <T> Bean type of the Grid where this Renderer is being used
+ * @param <V> Type of the date value
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public abstract class AbstractDateTimeFieldRenderer<T,V> extends AbstractDateFieldRenderer<T,V> {
+
+	/**
+	 * Constructor
+	 * 
+	 * @param presentationType Type of the date value
+	 * @param setter Setter function from underlying Bean which sets the value
+	 * @param encoding Encoding of the value matching the type
+	 */
+	protected AbstractDateTimeFieldRenderer(Class<V> presentationType, final Setter<T,V> setter, DateFieldEncoding encoding) {
+		super(presentationType, setter, encoding);
+	}
+
+	/**
+	 * Set the resolution of the DateTimeField to be rendered, default is DateTimeResolution.MINUTE
+	 * 
+	 * @param resolution The resolution
+	 */
+	public void setDateTimeResolution(DateTimeResolution resolution) {
+		if (resolution == null) {
+			throw new IllegalArgumentException("Resolution can't be null");
+		}
+		getState().dateTimeResolution = resolution;
+	}
+
+	/**
+	 * Get the resolution of the DateTimeField
+	 * 
+	 * @return The resolution
+	 */
+	public DateTimeResolution getDateTimeResolution() {
+		return getState(false).dateTimeResolution;
+	}
+}
@@ -0,0 +1,48 @@
+package org.vaadin.grid.cellrenderers.editable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.vaadin.grid.cellrenderers.EditableRenderer;
+import org.vaadin.grid.cellrenderers.client.editable.DateFieldEncoding;
+
+import com.vaadin.server.Setter;
+import com.vaadin.ui.Grid;
+
+/**
+ * DateTimeFieldRenderer is renderer for LocalDateTime of {@link EditableRenderer} type.
+ * It creates editable DateTimeField with calendar popup column in Grid. The values are
+ * sent to the client as epoch milliseconds without time zone, thus the same date and
+ * time is shown regardless of the time zone of the browser.
+ * 
+ * @see Grid#addColumn(String, com.vaadin.ui.renderers.AbstractRenderer)
+ * @see Grid#addColumn(com.vaadin.data.ValueProvider, com.vaadin.ui.renderers.AbstractRenderer)
+ * @see Grid#addColumn(com.vaadin.data.ValueProvider, com.vaadin.data.ValueProvider, com.vaadin.ui.renderers.AbstractRenderer)
+ * @see InstantFieldRenderer
+ * 
+ * @param <T> Bean type of the Grid where this Renderer is being used
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class DateTimeFieldRenderer<T> extends AbstractDateTimeFieldRenderer<T,LocalDateTime> {
+
+	/**
+	 * A Constructor for DateTimeFieldRenderer
+	 * 
+	 * @param setter Setter function from underlying Bean which sets the value
+	 */
+	public DateTimeFieldRenderer(final Setter<T, LocalDateTime> setter) {
+		super(LocalDateTime.class, setter, DateFieldEncoding.LOCAL_EPOCH_MILLI);
+	}
+
+	@Override
+	protected long toEpochValue(LocalDateTime value) {
+		return value.toInstant(ZoneOffset.UTC).toEpochMilli();
+	}
+
+	@Override
+	protected LocalDateTime fromEpochValue(long epochValue) {
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(epochValue, 1000L),
+				(int) Math.floorMod(epochValue, 1000L) * 1000000, ZoneOffset.UTC);
+	}
+}
@@ -0,0 +1,45 @@
+package org.vaadin.grid.cellrenderers.editable;
+
+import java.time.Instant;
+
+import org.vaadin.grid.cellrenderers.EditableRenderer;
+import org.vaadin.grid.cellrenderers.client.editable.DateFieldEncoding;
+
+import com.vaadin.server.Setter;
+import com.vaadin.ui.Grid;
+
+/**
+ * InstantFieldRenderer is renderer for Instant of {@link EditableRenderer} type.
+ * It creates editable DateTimeField with calendar popup column in Grid. The values are
+ * sent to the client as epoch milliseconds and shown in the time zone of the browser.
+ * 
+ * @see Grid#addColumn(String, com.vaadin.ui.renderers.AbstractRenderer)
+ * @see Grid#addColumn(com.vaadin.data.ValueProvider, com.vaadin.ui.renderers.AbstractRenderer)
+ * @see Grid#addColumn(com.vaadin.data.ValueProvider, com.vaadin.data.ValueProvider, com.vaadin.ui.renderers.AbstractRenderer)
+ * @see DateTimeFieldRenderer
+ * 
+ * @param <T> Bean type of the Grid where this Renderer is being used
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class InstantFieldRenderer<T> extends AbstractDateTimeFieldRenderer<T,Instant> {
+
+	/**
+	 * A Constructor for InstantFieldRenderer
+	 * 
+	 * @param setter Setter function from underlying Bean which sets the value
+	 */
+	public InstantFieldRenderer(final Setter<T, Instant> setter) {
+		super(Instant.class, setter, DateFieldEncoding.EPOCH_MILLI);
+	}
+
+	@Override
+	protected long toEpochValue(Instant value) {
+		return value.toEpochMilli();
+	}
+
+	@Override
+	protected Instant fromEpochValue(long epochValue) {
+		return Instant.ofEpochMilli(epochValue);
+	}
+}
@@ -0,0 +1,189 @@
+package org.vaadin.grid.cellrenderers.editable;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.vaadin.server.SerializableFunction;
+
+/**
+ * Immutable, versioned list of selection options for {@link SimpleSelectRenderer}, which
+ * can be shared by any number of renderers in all sessions, e.g. list of countries or units
+ * of measure. Catalogs are created with {@link #of(String, Collection, SerializableFunction)},
+ * which returns the existing instance when the options have not changed, thus there is one
+ * copy of each catalog version in the server. The renderer sends only the id and the version
+ * of the catalog in its state, and the client fetches the captions once per version and
+ * shares them between the renderers.
+ *
+ * The version is derived from the captions, thus the same options have the same version
+ * also after restart of the server. Captions of different locales are different versions,
+ * use id including the locale, e.g. "countries_fi", for keeping each of them shared.
+ *
+ * Note: The options must implement equals and hashCode.
+ *
+ * @param <A> Type of the options
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public final class OptionCatalog<A> implements Serializable {
+
+	private static final ConcurrentMap<String,OptionCatalog<?>> catalogs = new ConcurrentHashMap<>();
+
+	private final String id;
+	private final int version;
+	private final List<A> options;
+	private final List<String> captions;
+	private final SerializableFunction<A,String> captionGenerator;
+	private final Map<String,A> items = new HashMap<>();
+	private final Map<A,Integer> indexes = new HashMap<>();
+
+	private OptionCatalog(String id, int version, List<A> options, List<String> captions,
+			SerializableFunction<A,String> captionGenerator) {
+		this.id = id;
+		this.version = version;
+		this.options = Collections.unmodifiableList(options);
+		this.captions = Collections.unmodifiableList(captions);
+		this.captionGenerator = captionGenerator;
+		for (int i = 0; i < options.size(); i++) {
+			items.put(captions.get(i), options.get(i));
+			indexes.put(options.get(i), i);
+		}
+	}
+
+	/**
+	 * Get the catalog with given id and options, using toString() of the options as caption
+	 *
+	 * @see OptionCatalog#of(String, Collection, SerializableFunction)
+	 *
+	 * @param <A> Type of the options
+	 * @param id Id of the catalog
+	 * @param options The options
+	 * @return The catalog
+	 */
+	public static <A> OptionCatalog<A> of(String id, Collection<A> options) {
+		return of(id, options, option -> String.valueOf(option));
+	}
+
+	/**
+	 * Get the catalog with given id and options. If the current version of the catalog
+	 * has the same options and captions, it is returned, otherwise new version of the
+	 * catalog replaces it. Renderers using the previous version keep it until they are
+	 * given the new one. Options with duplicate captions are ignored.
+	 * 
+	 * Note: Use different id for each locale or other variant of the captions, otherwise
+	 * the variants replace each other and the catalog is not shared.
+	 *
+	 * @param <A> Type of the options
+	 * @param id Id of the catalog
+	 * @param options The options
+	 * @param captionGenerator Function producing the caption shown for the option
+	 * @return The catalog
+	 */
+	@SuppressWarnings("unchecked")
+	public static <A> OptionCatalog<A> of(String id, Collection<A> options,
+			SerializableFunction<A,String> captionGenerator) {
+		Objects.requireNonNull(id, "Id can't be null");
+		Objects.requireNonNull(options, "Options can't be null");
+		Objects.requireNonNull(captionGenerator, "Caption generator can't be null");
+		List<A> uniqueOptions = new ArrayList<>();
+		List<String> captions = new ArrayList<>();
+		Map<String,A> seen = new HashMap<>();
+		for (A option : options) {
+			String caption = captionGenerator.apply(option);
+			if (seen.putIfAbsent(caption, option) == null) {
+				uniqueOptions.add(option);
+				captions.add(caption);
+			}
+		}
+		return (OptionCatalog<A>) catalogs.compute(id, (key, current) -> {
+			if (current != null && current.captions.equals(captions)
+					&& current.options.equals(uniqueOptions)) {
+				return current;
+			}
+			// Client caches the captions by version, thus it identifies the captions
+			int version = captions.hashCode();
+			return new OptionCatalog<>(id, version, uniqueOptions, captions, captionGenerator);
+		});
+	}
+
+	/**
+	 * Get the current version of the catalog
+	 *
+	 * @param id Id of the catalog
+	 * @return The catalog, null if there is no catalog with the id
+	 */
+	public static OptionCatalog<?> get(String id) {
+		return catalogs.get(id);
+	}
+
+	/**
+	 * Remove the catalog. Renderers using it keep their copy.
+	 *
+	 * @param id Id of the catalog
+	 */
+	public static void remove(String id) {
+		catalogs.remove(id);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public List<A> getOptions() {
+		return options;
+	}
+
+	public List<String> getCaptions() {
+		return captions;
+	}
+
+	/**
+	 * Get the option having given caption
+	 *
+	 * @param caption The caption
+	 * @return The option, null if not in the catalog
+	 */
+	public A getOption(String caption) {
+		return items.get(caption);
+	}
+
+	/**
+	 * Get the index of the option in the catalog
+	 *
+	 * @param option The option
+	 * @return The index, -1 if not in the catalog
+	 */
+	public int indexOf(A option) {
+		Integer index = option != null ? indexes.get(option) : null;
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * Get the caption of the option using the caption generator of the catalog
+	 *
+	 * @param option The option
+	 * @return The caption
+	 */
+	public String getCaption(A option) {
+		return captionGenerator.apply(option);
+	}
+
+	// Deserialized session refers to the shared copy if it is still the current version
+	private Object readResolve() throws ObjectStreamException {
+		OptionCatalog<?> current = catalogs.putIfAbsent(id, this);
+		return current != null && current.version == version && current.options.equals(options)
+				? current : this;
+	}
+}
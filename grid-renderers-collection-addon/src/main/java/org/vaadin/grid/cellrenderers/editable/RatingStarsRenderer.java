@@ -1,5 +1,7 @@
 package org.vaadin.grid.cellrenderers.editable;
 
+import java.util.List;
+
 import org.vaadin.grid.cellrenderers.EditableRenderer;
 import org.vaadin.grid.cellrenderers.client.editable.RatingStarsRendererClientRpc;
 import org.vaadin.grid.cellrenderers.client.editable.RatingStarsRendererServerRpc;
@@ -67,18 +69,11 @@ public class RatingStarsRenderer<T> extends EditableRenderer<T,Double> {
             }
 
 			@Override
-			public void applyIsEnabledCheck(String rowKey) {
-            	Grid<T> grid = getParentGrid();
-            	T item = grid.getDataCommunicator().getKeyMapper().get(rowKey);
-            	if (item != null) {
-            		Boolean isDisabled = isRowDisabled(rowKey);
-        			boolean result = applyIsEnabledProvider(item,rowKey);
-            		if (isDisabled == null) {
-            			getRPC().setEnabled(result,rowKey);
-            		} else if (isDisabled != result || result == false) {
-            			getRPC().setEnabled(result,rowKey);
-            		}
-            	}
+			public void applyIsEnabledCheck(List<String> rowKeys) {
+				List<String> disabledRowKeys = applyIsEnabledProvider(rowKeys);
+				if (!disabledRowKeys.isEmpty()) {
+					getRPC().setDisabledRows(disabledRowKeys);
+				}
 			}
 
         });
@@ -1,11 +1,15 @@
 package org.vaadin.grid.cellrenderers.editable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.vaadin.grid.cellrenderers.EditableRenderer;
+import org.vaadin.grid.cellrenderers.PresentationCache;
 import org.vaadin.grid.cellrenderers.client.editable.SimpleSelectRendererClientRpc;
 import org.vaadin.grid.cellrenderers.client.editable.SimpleSelectRendererServerRpc;
 import org.vaadin.grid.cellrenderers.client.editable.SimpleSelectRendererState;
@@ -13,10 +17,14 @@ import org.vaadin.grid.cellrenderers.client.editable.TextFieldRendererClientRpc;
 
 import com.vaadin.data.Converter;
 import com.vaadin.data.ValueContext;
+import com.vaadin.data.provider.DataProvider;
+import com.vaadin.data.provider.Query;
 import com.vaadin.server.Setter;
+import com.vaadin.shared.Registration;
 import com.vaadin.ui.Grid;
 import com.vaadin.ui.Grid.Column;
 
+import elemental.json.Json;
 import elemental.json.JsonValue;
 
 /**
@@ -37,18 +45,43 @@ import elemental.json.JsonValue;
  */
 public class SimpleSelectRenderer<T,A> extends EditableRenderer<T,A> {
 
+	private static final int MAX_FETCHED_OPTIONS = 1000;
+
+	// Options fetched from DataProvider by caption, least recently used option is evicted first
+	private static class FetchedOptions<A> extends LinkedHashMap<String,A> {
+		private FetchedOptions() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,A> eldest) {
+			return size() > MAX_FETCHED_OPTIONS;
+		}
+	}
+
 	private Map<String,A> items;
+	// Index of the option values, thus encode does not need to run the converter for them
+	private Map<A,Integer> valueIndexes = new HashMap<>();
 	private Converter<String,A> converter;
 	private List<A> dropDownList;
+	private final PresentationCache<A> presentationCache = new PresentationCache<>();
+	private DataProvider<A,String> dataProvider;
+	private OptionCatalog<A> catalog;
+	private Registration dataProviderListenerRegistration;
 	
 	/**
 	 * Set A Converter to be used in conversion between value and caption label of the listing.
+	 * The converter is not used with OptionCatalog, which has its own caption generator.
+	 * The rows are sent again to the client, if the Grid is attached.
 	 * 
 	 * @param converter The converter to be used
 	 */
 	public void setConverter(Converter<String,A> converter) {
 		this.converter = converter;
-		setItems(dropDownList);
+		presentationCache.clear();
+		if (dataProvider != null) resetOptions();
+		else if (dropDownList != null) setItems(dropDownList);
+		resendRows();
 	}
 	
 	/**
@@ -67,18 +100,210 @@ public class SimpleSelectRenderer<T,A> extends EditableRenderer<T,A> {
     	setupSimpleSelectRenderer(setter);
     }
 
+	/**
+	 * Constructor for SimpleSelectRenderer with options fetched from DataProvider. The options
+	 * are not sent in the shared state, but the client fetches them page by page when the 
+	 * drop down is opened. Typing when the drop down has focus filters the options, the typed
+	 * text is passed to the DataProvider as filter. The filter should match the option having
+	 * the filter as caption, it is used for finding the selected option if it is not cached.
+	 * 
+	 * @see SimpleSelectRenderer#setPageSize(int)
+	 * 
+	 * @param setter Method reference to right setter of T 
+	 * @param dataProvider DataProvider of the selection options with String filter
+	 */
+	public SimpleSelectRenderer(Setter<T,A> setter, DataProvider<A,String> dataProvider) {
+        super((Class<A>) Object.class);
+
+        setDataProvider(dataProvider);
+
+    	setupSimpleSelectRenderer(setter);
+    }
+
+	/**
+	 * Constructor for SimpleSelectRenderer with options from shared OptionCatalog. Only the id
+	 * and the version of the catalog are sent in the shared state, the client fetches the
+	 * captions once per catalog version and shares them with other renderers using the catalog.
+	 * 
+	 * @see OptionCatalog#of(String, java.util.Collection, com.vaadin.server.SerializableFunction)
+	 * 
+	 * @param setter Method reference to right setter of T 
+	 * @param catalog The catalog of the selection options
+	 */
+	public SimpleSelectRenderer(Setter<T,A> setter, OptionCatalog<A> catalog) {
+        super((Class<A>) Object.class);
+
+        setCatalog(catalog);
+
+    	setupSimpleSelectRenderer(setter);
+    }
+
+	/**
+	 * Set shared OptionCatalog as the selection options, e.g. new version of the catalog.
+	 * The rows are sent again to the client, if the Grid is attached and the catalog
+	 * version changes.
+	 * 
+	 * @see SimpleSelectRenderer#SimpleSelectRenderer(Setter, OptionCatalog)
+	 * 
+	 * @param catalog The catalog of the selection options
+	 */
+	public void setCatalog(OptionCatalog<A> catalog) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Catalog can't be null");
+		}
+		removeDataProviderListener();
+		boolean sameVersion = this.catalog != null && this.catalog.getId().equals(catalog.getId())
+				&& this.catalog.getVersion() == catalog.getVersion();
+		this.dataProvider = null;
+		this.dropDownList = null;
+		this.catalog = catalog;
+		items = new HashMap<>();
+		valueIndexes = new HashMap<>();
+		getState().dropDownList = new ArrayList<>();
+		getState().lazyOptions = false;
+		getState().catalogId = catalog.getId();
+		getState().catalogVersion = catalog.getVersion();
+		if (!sameVersion) resendRows();
+	}
+
+	/**
+	 * Get the catalog of the selection options
+	 * 
+	 * @return The catalog, null if the options are not from a catalog
+	 */
+	public OptionCatalog<A> getCatalog() {
+		return catalog;
+	}
+
+	/**
+	 * Set DataProvider for fetching the selection options lazily
+	 * 
+	 * @see SimpleSelectRenderer#SimpleSelectRenderer(Setter, DataProvider)
+	 * 
+	 * @param dataProvider DataProvider of the selection options with String filter
+	 */
+	public void setDataProvider(DataProvider<A,String> dataProvider) {
+		if (dataProvider == null) {
+			throw new IllegalArgumentException("DataProvider can't be null");
+		}
+		removeDataProviderListener();
+		this.dataProvider = dataProvider;
+		this.dropDownList = null;
+		this.catalog = null;
+		getState().catalogId = null;
+		valueIndexes = new HashMap<>();
+		getState().dropDownList = new ArrayList<>();
+		getState().lazyOptions = true;
+		resetOptions();
+		if (isAttached()) addDataProviderListener();
+		resendRows();
+	}
+
+	/**
+	 * Set the number of options fetched at once when options are fetched from DataProvider
+	 * 
+	 * @param pageSize The page size, default 50
+	 */
+	public void setPageSize(int pageSize) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Page size must be positive");
+		}
+		getState().pageSize = pageSize;
+	}
+
+	/**
+	 * Get the number of options fetched at once
+	 * 
+	 * @return The page size
+	 */
+	public int getPageSize() {
+		return getState(false).pageSize;
+	}
+
+	// Invalidate the options cached by the client
+	private void resetOptions() {
+		items = new FetchedOptions<>();
+		getState().optionsVersion++;
+	}
+
+	private void fetchOptions(String filter, int offset) {
+		int pageSize = getState(false).pageSize;
+		// One extra item is fetched for finding out if there are more
+		Query<A,String> query = new Query<>(offset, pageSize + 1, Collections.emptyList(), null,
+				filter == null || filter.isEmpty() ? null : filter);
+		List<A> options = dataProvider.fetch(query).collect(Collectors.toList());
+		boolean hasMore = options.size() > pageSize;
+		List<String> captions = new ArrayList<>();
+		for (A value : options.subList(0, Math.min(pageSize, options.size()))) {
+			String key = toCaption(value);
+			items.putIfAbsent(key, value);
+			captions.add(key);
+		}
+		getRPC().setOptions(getState(false).optionsVersion, filter, offset, captions, hasMore);
+	}
+
+	private String toCaption(A value) {
+		if (converter != null) {
+			return converter.convertToPresentation(value, new ValueContext());
+		} else {
+			return value != null ? value.toString() : null;
+		}
+	}
+
+	// Returns null if the caption is not an option
+	private A findOption(String caption) {
+		if (catalog != null) return catalog.getOption(caption);
+		A value = items.get(caption);
+		if (value == null && dataProvider != null && caption != null) {
+			// Evicted or fetched before the options were reset, caption is used as filter
+			value = dataProvider.fetch(new Query<>(caption))
+					.filter(option -> caption.equals(toCaption(option)))
+					.findFirst().orElse(null);
+		}
+		return value;
+	}
+
+	// Rows sent earlier may refer to the options by index, which is not valid anymore
+	private void resendRows() {
+		if (isAttached() && getParentGrid() != null) {
+			getParentGrid().getDataCommunicator().reset();
+		}
+	}
+
+	private void addDataProviderListener() {
+		dataProviderListenerRegistration = dataProvider.addDataProviderListener(event -> resetOptions());
+	}
+
+	private void removeDataProviderListener() {
+		if (dataProviderListenerRegistration != null) {
+			dataProviderListenerRegistration.remove();
+			dataProviderListenerRegistration = null;
+		}
+	}
+
+	@Override
+	public void attach() {
+		super.attach();
+		if (dataProvider != null) addDataProviderListener();
+	}
+
+	@Override
+	public void detach() {
+		removeDataProviderListener();
+		super.detach();
+	}
+
 	private void setItems(List<A> dropDownList) {
 	    items = new HashMap<String,A>();
+	    valueIndexes = new HashMap<A,Integer>();
         List<String> captions = new ArrayList<String>();
 		
         for (A value : dropDownList) {
-        	String key = "";
-        	if (converter != null) {
-        		key = converter.convertToPresentation(value, new ValueContext());
-        	} else {
-        		key = value.toString();
+        	String key = toCaption(value);
+        	if (items.putIfAbsent(key, value) == null) {
+        		valueIndexes.put(value, captions.size());
+        		captions.add(key);
         	}
-        	if (items.putIfAbsent(key, value) == null) captions.add(key);
         }
         getState().dropDownList = captions;
 	}
@@ -110,8 +335,12 @@ public class SimpleSelectRenderer<T,A> extends EditableRenderer<T,A> {
             	Grid<T> grid = getParentGrid();
             	T item = grid.getDataCommunicator().getKeyMapper().get(rowKey);
             	Column<T,A> column = getParent();
-            	Map<String,A> dropDownItems = items;
-            	A newValue = dropDownItems.get(newKey);
+            	A newValue = findOption(newKey);
+            	if (newValue == null && (catalog != null || !items.containsKey(newKey))) {
+            		// Unknown caption, e.g. options changed, the client shows the value again
+            		grid.getDataProvider().refreshItem(item);
+            		return;
+            	}
              	setter.accept(item,newValue);
             	grid.getDataProvider().refreshItem(item);
 
@@ -119,18 +348,23 @@ public class SimpleSelectRenderer<T,A> extends EditableRenderer<T,A> {
              }
 
 			@Override
-			public void applyIsEnabledCheck(String rowKey) {
-            	Grid<T> grid = getParentGrid();
-            	T item = grid.getDataCommunicator().getKeyMapper().get(rowKey);
-            	if (item != null) {
-            		Boolean isDisabled = isRowDisabled(rowKey);
-        			boolean result = applyIsEnabledProvider(item,rowKey);
-            		if (isDisabled == null) {
-            			getRPC().setEnabled(result,rowKey);
-            		} else if (isDisabled != result || result == false) {
-            			getRPC().setEnabled(result,rowKey);
-            		}
-            	}
+			public void applyIsEnabledCheck(List<String> rowKeys) {
+				List<String> disabledRowKeys = applyIsEnabledProvider(rowKeys);
+				if (!disabledRowKeys.isEmpty()) {
+					getRPC().setDisabledRows(disabledRowKeys);
+				}
+			}
+
+			@Override
+			public void fetchOptions(String filter, int offset) {
+				if (dataProvider != null) SimpleSelectRenderer.this.fetchOptions(filter, offset);
+			}
+
+			@Override
+			public void fetchCatalog() {
+				if (catalog != null) {
+					getRPC().setCatalog(catalog.getId(), catalog.getVersion(), catalog.getCaptions());
+				}
 			}
         });
     }
@@ -140,17 +374,49 @@ public class SimpleSelectRenderer<T,A> extends EditableRenderer<T,A> {
 	 */
     @Override
     public JsonValue encode(A value) {
+    	if (catalog != null) {
+    		int index = catalog.indexOf(value);
+    		if (index >= 0) {
+    			return Json.create(index);
+    		}
+    		return encode(value != null ? catalog.getCaption(value) : null, String.class);
+    	}
+        // Options in the list are sent as index, the converter is run only for other values
+        Integer index = value != null ? valueIndexes.get(value) : null;
+        if (index != null) {
+        	return Json.create(index);
+        }
+    	String caption;
         if (converter == null) {
-            return encode((String) value, String.class);
+            caption = toCaption(value);
         } else {
-            return encode(converter.convertToPresentation(value, new ValueContext()), String.class);
+            caption = convertToPresentation(value);
         }
+        return encode(caption, String.class);
     }	
+
+    private String convertToPresentation(A value) {
+    	return presentationCache.convert(value, converter);
+    }
+
+    /**
+     * Get the cache of the converted presentation strings, disabled by default
+     * 
+     * @return The cache
+     */
+    public PresentationCache<A> getPresentationCache() {
+    	return presentationCache;
+    }
 	
     @Override
     protected SimpleSelectRendererState getState()  {
         return (SimpleSelectRendererState) super.getState();
     }
+
+    @Override
+    protected SimpleSelectRendererState getState(boolean markAsDirty)  {
+        return (SimpleSelectRendererState) super.getState(markAsDirty);
+    }
     
     private SimpleSelectRendererClientRpc getRPC() {
         return getRpcProxy(SimpleSelectRendererClientRpc.class);
@@ -1,6 +1,9 @@
 package org.vaadin.grid.cellrenderers.editable;
 
+import java.util.List;
+
 import org.vaadin.grid.cellrenderers.EditableRenderer;
+import org.vaadin.grid.cellrenderers.PresentationCache;
 import org.vaadin.grid.cellrenderers.client.editable.TextFieldRendererClientRpc;
 import org.vaadin.grid.cellrenderers.client.editable.TextFieldRendererServerRpc;
 import org.vaadin.grid.cellrenderers.client.editable.TextFieldRendererState;
@@ -29,6 +32,7 @@ import elemental.json.JsonValue;
  */
 public class TextFieldRenderer<T,A> extends EditableRenderer<T,A> {
 	private Converter<String,A> converter;
+	private final PresentationCache<A> presentationCache = new PresentationCache<>();
 
 	/**
 	 * Set Converter for the Field if the underlying value is other than String
@@ -37,6 +41,7 @@ public class TextFieldRenderer<T,A> extends EditableRenderer<T,A> {
 	 */
 	public void setConverter(Converter<String,A> converter) {
 		this.converter = converter;
+		presentationCache.clear();
 	}
 	
 	/**
@@ -76,18 +81,11 @@ public class TextFieldRenderer<T,A> extends EditableRenderer<T,A> {
             }
 
 			@Override
-			public void applyIsEnabledCheck(String rowKey) {
-            	Grid<T> grid = getParentGrid();
-            	T item = grid.getDataCommunicator().getKeyMapper().get(rowKey);
-            	if (item != null) {
-            		Boolean isDisabled = isRowDisabled(rowKey);
-        			boolean result = applyIsEnabledProvider(item,rowKey);
-            		if (isDisabled == null) {
-            			getRPC().setEnabled(result,rowKey);
-            		} else if (isDisabled != result || result == false) {
-            			getRPC().setEnabled(result,rowKey);
-            		}
-            	}
+			public void applyIsEnabledCheck(List<String> rowKeys) {
+				List<String> disabledRowKeys = applyIsEnabledProvider(rowKeys);
+				if (!disabledRowKeys.isEmpty()) {
+					getRPC().setDisabledRows(disabledRowKeys);
+				}
 			}
 
         });
@@ -98,10 +96,23 @@ public class TextFieldRenderer<T,A> extends EditableRenderer<T,A> {
         if (converter == null) {
             return encode((String) value, String.class);
         } else {
-            return encode(converter.convertToPresentation(value, new ValueContext()), String.class);
+            return encode(convertToPresentation(value), String.class);
         }
     }	
 
+    private String convertToPresentation(A value) {
+    	return presentationCache.convert(value, converter);
+    }
+
+    /**
+     * Get the cache of the converted presentation strings, disabled by default
+     * 
+     * @return The cache
+     */
+    public PresentationCache<A> getPresentationCache() {
+    	return presentationCache;
+    }
+
     @Override
     protected TextFieldRendererState getState() {
     	return (TextFieldRendererState) super.getState();
@@ -128,6 +139,35 @@ public class TextFieldRenderer<T,A> extends EditableRenderer<T,A> {
     	return getState().eagerChangeMode;
     }
 
+    /**
+     * Set the timeout in milliseconds used with eagerChangeMode. Key presses within
+     * the timeout are collapsed into one value change, which is emitted when the 
+     * user has stopped typing for the given time. Pending change is emitted 
+     * immediately on blur or enter. The default value is 0, i.e. value change 
+     * is emitted after each key press.
+     * 
+     * @see TextFieldRenderer#setEagerChangeMode(boolean)
+     * 
+     * @param timeout Timeout in milliseconds
+     */
+    public void setEagerChangeTimeout(int timeout) {
+    	if (timeout < 0) {
+    		throw new IllegalArgumentException("Timeout must not be negative");
+    	}
+    	getState().eagerChangeTimeout = timeout;
+    }
+
+    /**
+     * Get the current eagerChangeMode timeout
+     * 
+     * @see TextFieldRenderer#setEagerChangeTimeout(int)
+     * 
+     * @return Timeout in milliseconds
+     */
+    public int getEagerChangeTimeout() {
+    	return getState().eagerChangeTimeout;
+    }
+
     /**
      * When blurChangeMode is set to true the text field emits value
      *  change on blur event. Default is false. 
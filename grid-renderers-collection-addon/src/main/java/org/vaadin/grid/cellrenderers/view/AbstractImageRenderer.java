@@ -0,0 +1,334 @@
+package org.vaadin.grid.cellrenderers.view;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.codec.binary.Base64;
+import org.vaadin.grid.cellrenderers.client.view.BlobImageRendererState;
+
+import com.vaadin.server.VaadinRequest;
+import com.vaadin.server.VaadinResponse;
+import com.vaadin.shared.ApplicationConstants;
+import com.vaadin.ui.renderers.AbstractRenderer;
+
+import elemental.json.JsonValue;
+
+/**
+ * Common base for the image renderers. Images are sent to the browser either 
+ * inline as data URIs or by URL served by the renderer, and can be downscaled
+ * to thumbnails on the server.
+ * 
+ * @param <T> Type of the Grid bean
+ * @param <V> Type of the image value
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public abstract class AbstractImageRenderer<T,V> extends AbstractRenderer<T,V> {
+
+    private static final String TRANSPARENT_GIF_1PX = BlobImageRendererState.NULL_IMAGE;
+    private static final String IMAGE_PATH = "image/";
+    private static final int DEFAULT_IMAGE_CACHE_CAPACITY = 1000;
+    private String mimeType = "image/png";
+    private ImageStore imageStore;
+    private String thumbnailFormat;
+    private float thumbnailQuality;
+    private double pixelRatio;
+    // Not serialized with the session, the shared cache would be copied to each session
+    private transient ThumbnailCache thumbnailCache;
+
+    // Images served by URL, keyed by content id, least recently used image is evicted first
+    private static class ImageStore extends LinkedHashMap<String,ImageSource> {
+		private final int capacity;
+
+		private ImageStore(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,ImageSource> eldest) {
+			return size() > capacity;
+		}
+    }
+
+    protected AbstractImageRenderer(Class<V> presentationType, int width, int height, String mimeType) {
+        super(presentationType);
+        getState().width = width;
+        getState().height = height;
+        if (mimeType != null) this.mimeType = mimeType;
+    }
+
+    /**
+     * Get the source of the image data of the value
+     * 
+     * @param value The value, not null
+     * @return The image source
+     */
+    protected abstract ImageSource toImageSource(V value);
+
+    private String convertToHtml(ImageSource image) {
+    	if (imageStore != null) return registerImage(image);
+    	byte[] thumbnail = scaleToThumbnail(image);
+    	if (thumbnail != null) return "data:"+getThumbnailMimeType()+";base64," + Base64.encodeBase64String(thumbnail);
+    	try {
+    		return "data:"+mimeType+";base64," + Base64.encodeBase64String(image.readAll());
+    	} catch (IOException e) {
+    		Logger.getLogger(AbstractImageRenderer.class.getName()).log(Level.WARNING, "Image could not be read", e);
+    		return TRANSPARENT_GIF_1PX;
+    	}
+    }
+
+    // Returns null if thumbnails are not enabled or scaling fails, original is used then
+    private byte[] scaleToThumbnail(ImageSource image) {
+    	if (thumbnailFormat == null) return null;
+    	int width = getState(false).width;
+    	int height = getState(false).height;
+    	if (width > 0) width = (int) Math.ceil(width * pixelRatio);
+    	if (height > 0) height = (int) Math.ceil(height * pixelRatio);
+    	try {
+    		return getThumbnailCache().getThumbnail(image, width, height, thumbnailFormat, thumbnailQuality);
+    	} catch (IOException e) {
+    		Logger.getLogger(AbstractImageRenderer.class.getName()).log(Level.WARNING, "Image scaling failed", e);
+    		return null;
+    	}
+    }
+
+    // Identifies the thumbnail settings, thus the URL changes when they change
+    private String getVariant() {
+    	if (thumbnailFormat == null) return "o";
+    	return Integer.toHexString(Objects.hash(thumbnailFormat.toLowerCase(), thumbnailQuality,
+    			pixelRatio, getState(false).width, getState(false).height));
+    }
+
+    private String getThumbnailMimeType() {
+    	if ("jpg".equalsIgnoreCase(thumbnailFormat)) return "image/jpeg";
+    	return "image/"+thumbnailFormat.toLowerCase();
+    }
+
+    private String registerImage(ImageSource image) {
+    	String id = image.getId();
+    	synchronized (imageStore) {
+    		if (imageStore.get(id) == null) imageStore.put(id, image);
+    	}
+    	return ApplicationConstants.APP_PROTOCOL_PREFIX + ApplicationConstants.APP_PATH + "/"
+    			+ "connector/" + getUI().getUIId() + "/" + getConnectorId() + "/" + IMAGE_PATH
+    			+ getVariant() + "/" + id;
+    }
+
+    @Override
+    public String getNullRepresentation() {
+        return TRANSPARENT_GIF_1PX;
+    }
+
+    @Override
+    public JsonValue encode(V value) {
+        if (value == null) {
+            return encode(getNullRepresentation(), String.class);
+        } else {
+            return encode(convertToHtml(toImageSource(value)), String.class);
+        }
+    }
+
+    /**
+     * Serve the images by URL instead of sending them inline as base64 encoded
+     * data in the row data. Identical images share the same URL, which is based on
+     * the image id and the thumbnail settings, and are served with ETag and private
+     * Cache-Control headers, so that the browser can reuse them when rows are scrolled
+     * or refreshed. Refresh the rows after changing the thumbnail settings, the earlier
+     * URLs are not served anymore.
+     * 
+     * @see AbstractImageRenderer#setServeByUrl(boolean, int)
+     * 
+     * @param serveByUrl true for serving images by URL, false for data URIs (the default)
+     */
+    public void setServeByUrl(boolean serveByUrl) {
+    	setServeByUrl(serveByUrl, DEFAULT_IMAGE_CACHE_CAPACITY);
+    }
+
+    /**
+     * Serve the images by URL instead of sending them inline as base64 encoded
+     * data in the row data.
+     * 
+     * Note: The images are kept in memory until evicted, so that the browser can load 
+     * them. If the capacity is too small compared to the number of images visible 
+     * in the Grid, browser may fail to load the evicted ones.
+     * 
+     * @param serveByUrl true for serving images by URL, false for data URIs (the default)
+     * @param cacheCapacity Maximum number of distinct images kept for serving, must be positive
+     */
+    public void setServeByUrl(boolean serveByUrl, int cacheCapacity) {
+    	if (serveByUrl && cacheCapacity <= 0) {
+    		throw new IllegalArgumentException("Cache capacity must be positive");
+    	}
+    	if (serveByUrl) imageStore = new ImageStore(cacheCapacity);
+    	else imageStore = null;
+    }
+
+    /**
+     * Check whether images are served by URL
+     * 
+     * @return true if images are served by URL
+     */
+    public boolean isServeByUrl() {
+    	return imageStore != null;
+    }
+
+    /**
+     * Downscale the images on the server to the width and height of the renderer
+     * before sending them to the browser, so that the Grid does not ship more pixels
+     * than it displays. Images are scaled keeping the aspect ratio and re-encoded 
+     * with the given format. Thumbnails are cached in the {@link ThumbnailCache}.
+     * 
+     * Note: Scaling decodes the whole original image to the heap, when the thumbnail
+     * is not found from the cache.
+     * 
+     * @see AbstractImageRenderer#setThumbnailCache(ThumbnailCache)
+     * 
+     * @param format Informal name of the format, e.g. "png" or "jpeg", null disables the scaling
+     * @param quality Compression quality between 0 and 1, used if the format supports it
+     * @param pixelRatio Device pixel ratio to be applied to the size, e.g. 2.0 for HiDPI displays
+     */
+    public void setThumbnails(String format, float quality, double pixelRatio) {
+    	if (quality < 0 || quality > 1) {
+    		throw new IllegalArgumentException("Quality must be between 0 and 1");
+    	}
+    	if (pixelRatio <= 0) {
+    		throw new IllegalArgumentException("Pixel ratio must be positive");
+    	}
+    	thumbnailFormat = format;
+    	thumbnailQuality = quality;
+    	this.pixelRatio = pixelRatio;
+    }
+
+    /**
+     * Set the cache used for thumbnails. By default the application wide 
+     * {@link ThumbnailCache#getDefault()} is used. 
+     * 
+     * Note: The cache is not serialized with the session, the default cache is used
+     * after the session has been deserialized.
+     * 
+     * @param thumbnailCache The cache, can be shared with other renderers
+     */
+    public void setThumbnailCache(ThumbnailCache thumbnailCache) {
+    	if (thumbnailCache == null) {
+    		throw new IllegalArgumentException("Thumbnail cache can't be null");
+    	}
+    	this.thumbnailCache = thumbnailCache;
+    }
+
+    /**
+     * Get the cache used for thumbnails
+     * 
+     * @return The cache
+     */
+    public ThumbnailCache getThumbnailCache() {
+    	if (thumbnailCache == null) thumbnailCache = ThumbnailCache.getDefault();
+    	return thumbnailCache;
+    }
+
+    /**
+     * Defer loading of the images until their cells are near the visible area of the Grid.
+     * Pending loads of the rows which are scrolled away are cancelled when the cell is reused.
+     * Set this before the Grid is shown.
+     * 
+     * @param lazyLoading true for lazy loading of images
+     */
+    public void setLazyLoading(boolean lazyLoading) {
+    	getState().lazyLoading = lazyLoading;
+    }
+
+    /**
+     * Check whether lazy loading of images is enabled
+     * 
+     * @return true if lazy loading is enabled
+     */
+    public boolean isLazyLoading() {
+    	return getState(false).lazyLoading;
+    }
+
+    /**
+     * Set placeholder image shown in the cells until the actual image has been loaded.
+     * Use a tiny image, it is sent to the browser as data URI. Set this before the
+     * Grid is shown.
+     * 
+     * @param placeholder Image data of the placeholder, null for no placeholder
+     */
+    public void setPlaceholder(byte[] placeholder) {
+    	if (placeholder == null) setPlaceholder((String) null);
+    	else setPlaceholder("data:"+mimeType+";base64," + Base64.encodeBase64String(placeholder));
+    }
+
+    /**
+     * Set placeholder image shown in the cells until the actual image has been loaded.
+     * 
+     * @param placeholderUrl URL or data URI of the placeholder, null for no placeholder
+     */
+    public void setPlaceholder(String placeholderUrl) {
+    	getState().placeholder = placeholderUrl;
+    }
+
+    @Override
+    public boolean handleConnectorRequest(VaadinRequest request, VaadinResponse response, String path) throws IOException {
+    	ImageStore store = imageStore;
+    	if (store == null || path == null || !path.startsWith(IMAGE_PATH)) {
+    		return super.handleConnectorRequest(request, response, path);
+    	}
+    	String variantAndId = path.substring(IMAGE_PATH.length());
+    	int separator = variantAndId.indexOf('/');
+    	String variant = separator > 0 ? variantAndId.substring(0, separator) : null;
+    	String id = variantAndId.substring(separator + 1);
+    	ImageSource image;
+    	synchronized (store) {
+    		image = store.get(id);
+    	}
+    	// URL of earlier thumbnail settings must not serve different content
+    	if (image == null || !getVariant().equals(variant)) {
+    		response.sendError(404, "Image not found");
+    		return true;
+    	}
+    	// Id and variant identify the content, thus the URL never changes its content.
+    	// The images may be private to the user, thus shared caches must not store them.
+    	String etag = "\"" + variant + "-" + id + "\"";
+    	response.setHeader("ETag", etag);
+    	response.setHeader("Cache-Control", "private, max-age=31536000, immutable");
+    	if (etag.equals(request.getHeader("If-None-Match"))) {
+    		response.setStatus(304);
+    		return true;
+    	}
+    	byte[] thumbnail = scaleToThumbnail(image);
+    	OutputStream out = response.getOutputStream();
+    	if (thumbnail != null) {
+        	response.setContentType(getThumbnailMimeType());
+        	response.setHeader("Content-Length", String.valueOf(thumbnail.length));
+        	out.write(thumbnail);
+    	} else {
+    		// Without thumbnails the original is streamed, it is not read to the heap
+        	response.setContentType(mimeType);
+        	try (InputStream in = image.openStream()) {
+        		byte[] buffer = new byte[8192];
+        		int read;
+        		while ((read = in.read(buffer)) != -1) {
+        			out.write(buffer, 0, read);
+        		}
+        	}
+    	}
+    	out.flush();
+    	return true;
+    }
+
+    @Override
+    protected BlobImageRendererState getState() {
+    	return (BlobImageRendererState) super.getState();
+    }
+
+    @Override
+    protected BlobImageRendererState getState(boolean markAsDirty) {
+    	return (BlobImageRendererState) super.getState(markAsDirty);
+    }
+}
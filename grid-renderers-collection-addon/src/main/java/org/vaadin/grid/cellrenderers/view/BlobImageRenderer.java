@@ -1,29 +1,10 @@
 package org.vaadin.grid.cellrenderers.view;
 
-import org.apache.commons.codec.binary.Base64;
-import org.vaadin.grid.cellrenderers.client.view.BlobImageRendererState;
-import org.vaadin.grid.cellrenderers.client.view.SparklineRendererState;
-import org.vaadin.grid.cellrenderers.view.SparklineRenderer.SparklineConfiguration;
-
-import com.vaadin.ui.renderers.AbstractRenderer;
-
-import elemental.json.JsonValue;
-
 /**
  * @author Tatu Lund - Vaadin
  */
-public class BlobImageRenderer<T> extends AbstractRenderer<T,byte[]> {
+public class BlobImageRenderer<T> extends AbstractImageRenderer<T,byte[]> {
 
-    private static final String TRANSPARENT_GIF_1PX = "data:image/gif;base64,R0lGODlhAQABAIAAAP///wAAACwAAAAAAQABAAACAkQBADs=";
-    private String mimeType = "image/png";
-    
-    private String convertToHtml(byte[] value) {
-    	String htmlValue = null;
-    	if (value == null) htmlValue = TRANSPARENT_GIF_1PX;
-    	else htmlValue = "data:"+mimeType+";base64," + Base64.encodeBase64String(value);
-    	return htmlValue;
-    }
-    
     /**
      * Constructor for a new BlobImageRenderer with parameter settings
      * 
@@ -33,9 +14,7 @@ public class BlobImageRenderer<T> extends AbstractRenderer<T,byte[]> {
      *               row height to fit the image. Use -1 for the default.
      */
     public BlobImageRenderer(int width, int height) {
-        super(byte[].class);
-        getState().width = width;
-        getState().height = height;        
+        super(byte[].class, width, height, null);
     }
 
     /**
@@ -48,10 +27,7 @@ public class BlobImageRenderer<T> extends AbstractRenderer<T,byte[]> {
      * @param mimeType Set alternative mimeType if needed for some reason.
      */
     public BlobImageRenderer(int width, int height, String mimeType) {
-        super(byte[].class);
-        getState().width = width;
-        getState().height = height;
-        this.mimeType = mimeType;
+        super(byte[].class, width, height, mimeType);
     }
     
     /**
@@ -63,27 +39,11 @@ public class BlobImageRenderer<T> extends AbstractRenderer<T,byte[]> {
      *    
      */
 	public BlobImageRenderer() {
-        super(byte[].class);
-    }
-
-	
-    @Override
-    public String getNullRepresentation() {
-        return TRANSPARENT_GIF_1PX;
-    }
-
-    @Override
-    public JsonValue encode(byte[] value) {
-        if (value == null) {
-            return encode(getNullRepresentation(), String.class);
-        } else {
-            return encode(convertToHtml(value), String.class);
-        }
+        super(byte[].class, -1, -1, null);
     }
 
     @Override
-    protected BlobImageRendererState getState() {
-    	return (BlobImageRendererState) super.getState();
+    protected ImageSource toImageSource(byte[] value) {
+    	return ImageSource.of(value);
     }
-  
 }
@@ -1,9 +1,9 @@
 package org.vaadin.grid.cellrenderers.view;
 
+import org.vaadin.grid.cellrenderers.PresentationCache;
 import org.vaadin.grid.cellrenderers.client.view.ConverterRendererState;
 
 import com.vaadin.data.Converter;
-import com.vaadin.data.ValueContext;
 import com.vaadin.ui.renderers.AbstractRenderer;
 
 import elemental.json.JsonValue;
@@ -14,6 +14,7 @@ import elemental.json.JsonValue;
 public class ConverterRenderer<T,A> extends AbstractRenderer<T,A> {
 
 	private Converter<String,A> converter;
+	private final PresentationCache<A> presentationCache = new PresentationCache<>();
 
     /**
      * Set converter to be used with the renderer.
@@ -23,6 +24,7 @@ public class ConverterRenderer<T,A> extends AbstractRenderer<T,A> {
      */	
 	public void setConverter(Converter<String,A> converter) {
 		this.converter = converter;
+		presentationCache.clear();
 	}
 	
     /**
@@ -66,10 +68,23 @@ public class ConverterRenderer<T,A> extends AbstractRenderer<T,A> {
         if (converter == null) {
             return encode((String) value, String.class);
         } else {
-            return encode(converter.convertToPresentation(value, new ValueContext()), String.class);
+            return encode(convertToPresentation(value), String.class);
         }
     }
 
+    private String convertToPresentation(A value) {
+    	return presentationCache.convert(value, converter);
+    }
+
+    /**
+     * Get the cache of the converted presentation strings, disabled by default
+     * 
+     * @return The cache
+     */
+    public PresentationCache<A> getPresentationCache() {
+    	return presentationCache;
+    }
+
     @Override
     protected ConverterRendererState getState() {
     	return (ConverterRendererState) super.getState();
@@ -0,0 +1,238 @@
+package org.vaadin.grid.cellrenderers.view;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import com.vaadin.server.SerializableSupplier;
+
+/**
+ * Source of image data for {@link StreamImageRenderer}. The data is read only when the
+ * browser requests the image, so that the images do not need to be loaded to the heap
+ * when the rows are rendered.
+ *
+ * The id identifies the content of the image, it is used in the URL of the image and
+ * for caching, hence sources with the same id must have the same content. Except for
+ * the byte array source, the id is derived from the path or the key given by the caller,
+ * not from the content, as it is needed each time the row is rendered.
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public abstract class ImageSource implements Serializable {
+
+	/**
+	 * Get the id of the image content
+	 *
+	 * @return Id which is safe to be used in URL
+	 */
+	public abstract String getId();
+
+	/**
+	 * Open stream for reading the image data. Caller closes the stream.
+	 *
+	 * @return The stream
+	 * @throws IOException If the image can't be read
+	 */
+	public abstract InputStream openStream() throws IOException;
+
+	/**
+	 * Read all the image data
+	 *
+	 * @return The image data
+	 * @throws IOException If the image can't be read
+	 */
+	byte[] readAll() throws IOException {
+		try (InputStream in = openStream()) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	/**
+	 * Image source for image data in memory
+	 *
+	 * @param image The image data
+	 * @return The image source, which id is the hash of the content
+	 */
+	public static ImageSource of(byte[] image) {
+		return new ByteArraySource(image);
+	}
+
+	/**
+	 * Image source for image file. The file is read when the image is requested.
+	 * The file is not accessed for the id, hence the content of the file is assumed
+	 * not to change, use {@link #of(Path, String)} for files which change.
+	 *
+	 * @param path Path of the file
+	 * @return The image source, which id is based on the path
+	 */
+	public static ImageSource of(Path path) {
+		return new PathSource(path, null);
+	}
+
+	/**
+	 * Image source for image file, which content may change. The file is read when the
+	 * image is requested.
+	 *
+	 * @param path Path of the file
+	 * @param version Version of the content known by the caller, e.g. modification time or revision number
+	 * @return The image source, which id is based on the path and the version
+	 */
+	public static ImageSource of(Path path, String version) {
+		return new PathSource(path, version);
+	}
+
+	/**
+	 * Image source for image data in a buffer, e.g. memory-mapped file. The data is
+	 * read from the buffer without copying it to the heap.
+	 *
+	 * Note: The buffer is not serialized with the session.
+	 *
+	 * @param key Key of the image content, same key must always provide the same content
+	 * @param buffer The buffer, its position and limit define the image data
+	 * @return The image source, which id is based on the key
+	 */
+	public static ImageSource of(String key, ByteBuffer buffer) {
+		return new ByteBufferSource(key, buffer);
+	}
+
+	/**
+	 * Image source for image data provided as stream
+	 *
+	 * @param id Id of the image content, same id must always provide the same content
+	 * @param supplier Supplier of the stream, called each time the image is read
+	 * @return The image source
+	 */
+	public static ImageSource of(String id, SerializableSupplier<InputStream> supplier) {
+		return new StreamSource(DigestUtils.sha1Hex(id), supplier);
+	}
+
+	private static class ByteArraySource extends ImageSource {
+		private final byte[] image;
+		private String id;
+
+		private ByteArraySource(byte[] image) {
+			this.image = image;
+		}
+
+		@Override
+		public String getId() {
+			if (id == null) id = DigestUtils.sha1Hex(image);
+			return id;
+		}
+
+		@Override
+		public InputStream openStream() {
+			return new ByteArrayInputStream(image);
+		}
+
+		@Override
+		byte[] readAll() {
+			return image;
+		}
+	}
+
+	private static class PathSource extends ImageSource {
+		private final String path;
+		private final String version;
+		private String id;
+
+		private PathSource(Path path, String version) {
+			this.path = path.toAbsolutePath().toString();
+			this.version = version;
+		}
+
+		@Override
+		public String getId() {
+			if (id == null) id = DigestUtils.sha1Hex(version != null ? path + ":" + version : path);
+			return id;
+		}
+
+		@Override
+		public InputStream openStream() throws IOException {
+			return Files.newInputStream(Paths.get(path));
+		}
+	}
+
+	private static class ByteBufferSource extends ImageSource {
+		private final String key;
+		private final transient ByteBuffer buffer;
+		private String id;
+
+		private ByteBufferSource(String key, ByteBuffer buffer) {
+			this.key = key;
+			this.buffer = buffer;
+		}
+
+		@Override
+		public String getId() {
+			if (id == null) id = DigestUtils.sha1Hex(key);
+			return id;
+		}
+
+		@Override
+		public InputStream openStream() throws IOException {
+			if (buffer == null) {
+				throw new IOException("Image buffer is not available after deserialization");
+			}
+			final ByteBuffer data = buffer.duplicate();
+			return new InputStream() {
+				@Override
+				public int read() {
+					return data.hasRemaining() ? data.get() & 0xff : -1;
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					if (len == 0) return 0;
+					if (!data.hasRemaining()) return -1;
+					int count = Math.min(len, data.remaining());
+					data.get(b, off, count);
+					return count;
+				}
+
+				@Override
+				public int available() {
+					return data.remaining();
+				}
+			};
+		}
+	}
+
+	private static class StreamSource extends ImageSource {
+		private final String id;
+		private final SerializableSupplier<InputStream> supplier;
+
+		private StreamSource(String id, SerializableSupplier<InputStream> supplier) {
+			this.id = id;
+			this.supplier = supplier;
+		}
+
+		@Override
+		public String getId() {
+			return id;
+		}
+
+		@Override
+		public InputStream openStream() throws IOException {
+			InputStream in = supplier.get();
+			if (in == null) {
+				throw new IOException("Image stream is not available");
+			}
+			return in;
+		}
+	}
+}
@@ -69,6 +69,7 @@ public class RowIndexRenderer<T,A> extends AbstractRenderer<T,A> {
      * @param mode The mode 
      * RowIndexMode.ORDINAL Set indeces to be ordinals, i.e. 1st, 2nd, 3rd, ...
      * RowIndexMode.ROMAN Set indeces to be roman literals.
+     * RowIndexMode.ALPHABETIC Set indeces to be letters, i.e. A, B, ... Z, AA, AB, ...
      * 
      */ 
     public void setRowIndexMode(RowIndexMode mode) {
@@ -86,6 +87,29 @@ public class RowIndexRenderer<T,A> extends AbstractRenderer<T,A> {
     	return getState().rowIndexMode;
     }
     
+    /**
+     * Use custom row index mode, which formatter has been registered in the client side
+     * code with RowIndexFormatters.register(String, RowIndexFormatter). E.g. alphabetic or 
+     * locale aware numbering.
+     * 
+     * @param customMode The name of the registered formatter
+     */
+    public void setCustomRowIndexMode(String customMode) {
+        getState().rowIndexMode = RowIndexMode.CUSTOM;
+        getState().customMode = customMode;
+    }
+
+    /**
+     * Get the name of the custom row index mode
+     * 
+     * @see RowIndexRenderer#setCustomRowIndexMode(String)
+     * 
+     * @return The name of the custom mode, null if not set
+     */
+    public String getCustomRowIndexMode() {
+    	return getState().customMode;
+    }
+
     /**
      * Set adjustment for row index, e.g. with offset = -1, row count starts from 0.
      * 
@@ -0,0 +1,66 @@
+package org.vaadin.grid.cellrenderers.view;
+
+/**
+ * Downsampling of sparkline series with Largest-Triangle-Three-Buckets algorithm,
+ * which reduces the number of points while keeping the visual shape of the series,
+ * including its peaks. The first and the last point are always kept.
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public final class SparklineDownsampler {
+
+	private SparklineDownsampler() {
+	}
+
+	/**
+	 * Downsample the series to the given number of points. The points of the
+	 * series are assumed to be evenly spaced.
+	 *
+	 * @param data The series
+	 * @param threshold Number of points in the result, at least 3
+	 * @return Downsampled series, or the series itself if it has no more points than the threshold
+	 */
+	public static double[] downsample(double[] data, int threshold) {
+		if (threshold < 3) {
+			throw new IllegalArgumentException("Threshold must be at least 3");
+		}
+		if (data.length <= threshold) return data;
+
+		double[] sampled = new double[threshold];
+		// Bucket size, first and last point are not part of the buckets
+		double every = (double) (data.length - 2) / (threshold - 2);
+		int a = 0;
+		sampled[0] = data[0];
+		for (int i = 0; i < threshold - 2; i++) {
+			// Average of the next bucket is used as the third point of the triangle
+			int avgStart = (int) Math.floor((i + 1) * every) + 1;
+			int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, data.length);
+			double avgX = 0;
+			double avgY = 0;
+			for (int j = avgStart; j < avgEnd; j++) {
+				avgX += j;
+				avgY += data[j];
+			}
+			int avgLength = avgEnd - avgStart;
+			avgX /= avgLength;
+			avgY /= avgLength;
+
+			// Select the point of the current bucket forming the largest triangle
+			int rangeStart = (int) Math.floor(i * every) + 1;
+			int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+			double maxArea = -1;
+			int next = rangeStart;
+			for (int j = rangeStart; j < rangeEnd; j++) {
+				double area = Math.abs((a - avgX) * (data[j] - data[a]) - (a - j) * (avgY - data[a]));
+				if (area > maxArea) {
+					maxArea = area;
+					next = j;
+				}
+			}
+			sampled[i + 1] = data[next];
+			a = next;
+		}
+		sampled[threshold - 1] = data[data.length - 1];
+		return sampled;
+	}
+}
@@ -1,13 +1,28 @@
 package org.vaadin.grid.cellrenderers.view;
 
+import org.vaadin.grid.cellrenderers.client.view.SparklineDrawMode;
+import org.vaadin.grid.cellrenderers.client.view.SparklineRendererClientRpc;
 import org.vaadin.grid.cellrenderers.client.view.SparklineRendererState;
+import org.vaadin.grid.cellrenderers.client.view.SparklineStatistics;
+
+import com.vaadin.data.provider.DataKeyMapper;
+import com.vaadin.ui.Grid;
 import com.vaadin.ui.renderers.AbstractRenderer;
 
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonValue;
+
 /**
+ * Renders series of numbers as sparkline. Supported value types are Number[],
+ * double[], float[], int[] and {@link SparklineSeries}. The primitive types 
+ * are encoded without boxing. Other value types throw IllegalArgumentException
+ * when the row is encoded.
+ * 
  * @author Tatu Lund - Vaadin
  * 
  */
-public class SparklineRenderer<T> extends AbstractRenderer<T,Number[]> {
+public class SparklineRenderer<T> extends AbstractRenderer<T,Object> {
 	
 	/**
 	 * Configuration class for a SparklineRenderer
@@ -160,28 +175,44 @@ public class SparklineRenderer<T> extends AbstractRenderer<T,Number[]> {
 			return getState().pathWidth;
 		}
 
+		/**
+		 * Set how the sparklines are drawn. Canvas mode draws each sparkline to a
+		 * single canvas element, which is faster when there are many sparklines visible.
+		 * Set this before the Grid is shown.
+		 * 
+		 * @param drawMode The draw mode, default is SVG
+		 */
+		public void setDrawMode(SparklineDrawMode drawMode) {
+			getState().drawMode = drawMode;
+		}
+
+		public SparklineDrawMode getDrawMode() {
+			return getState().drawMode;
+		}
+
 	}
 	
 	SparklineConfiguration config = null;
+	private int downsamplingThreshold = 0;
 	
     public SparklineRenderer() {
-        super(Number[].class);
+        super(Object.class);
         config = new SparklineConfiguration();        
     }
 
     public SparklineRenderer(int width, int height) {
-        super(Number[].class);
+        super(Object.class);
         config = new SparklineConfiguration(width, height);
     }
 
     public SparklineRenderer(int width, int height, String caption) {
-        super(Number[].class);
+        super(Object.class);
         config = new SparklineConfiguration(width, height, caption);
     }
 
     
     public SparklineRenderer(int width, int height, String caption, boolean normalRangeVisible, boolean averageVisible, boolean valueVisible, boolean minmaxVisible, boolean minmaxDotsVisible, boolean valueDotVisible) {
-        super(Number[].class);
+        super(Object.class);
         config = new SparklineConfiguration(width, height);
         getState().normalRangeVisible = normalRangeVisible;
         getState().averageVisible = averageVisible;
@@ -194,10 +225,179 @@ public class SparklineRenderer<T> extends AbstractRenderer<T,Number[]> {
     public SparklineConfiguration getConfiguration() {
     	return config;
     }
-    
+
+    /**
+     * Enable/disable downsampling of the series to the width of the sparkline
+     * before sending them to the client. Largest-Triangle-Three-Buckets algorithm
+     * is used, which keeps the visual peaks of the series.
+     * 
+     * @see SparklineRenderer#setDownsampling(int)
+     * 
+     * @param downsampling true for downsampling to the width in pixels
+     */
+    public void setDownsampling(boolean downsampling) {
+    	setDownsampling(downsampling ? -1 : 0);
+    }
+
+    /**
+     * Downsample the series to the given number of points before sending them
+     * to the client. Series having fewer points are sent as is. Note, the average
+     * shown by the sparkline is calculated from the downsampled series, unless the
+     * statistics are computed on the server.
+     * 
+     * @see SparklineRenderer#setServerStatistics(boolean)
+     * 
+     * @param maxPoints Maximum number of points, at least 3, -1 for the width of the sparkline, 0 disables downsampling
+     */
+    public void setDownsampling(int maxPoints) {
+    	if (maxPoints > 0 && maxPoints < 3) {
+    		throw new IllegalArgumentException("Downsampling needs at least 3 points");
+    	}
+    	downsamplingThreshold = maxPoints;
+    }
+
+    /**
+     * Get the maximum number of points of the series sent to the client
+     * 
+     * @return Maximum number of points, 0 if downsampling is not enabled
+     */
+    public int getDownsampling() {
+    	if (downsamplingThreshold < 0) return Math.max(3, getState(false).width);
+    	return downsamplingThreshold;
+    }
+
+    /**
+     * Append points to the sparkline of the item without refreshing the row. Only
+     * the new points are sent to the client, which appends them to the series it has
+     * and drops the oldest points exceeding the window, see {@link SparklineRenderer#setAppendWindow(int)}.
+     * Nothing is sent if the item has not been sent to the client.
+     * 
+     * Note: Update also the series in the item, as it is used when the row is
+     * fetched again from the server.
+     * 
+     * @param item The item
+     * @param points The new points
+     */
+    public void appendPoints(T item, double... points) {
+    	Grid<T> grid = getParentGrid();
+    	if (grid == null || points.length == 0) return;
+    	DataKeyMapper<T> keyMapper = grid.getDataCommunicator().getKeyMapper();
+    	if (!keyMapper.has(item)) return;
+    	getRpcProxy(SparklineRendererClientRpc.class).appendPoints(keyMapper.key(item), points);
+    }
+
+    /**
+     * Set the maximum number of points the client keeps when points are appended
+     * with {@link SparklineRenderer#appendPoints(Object, double...)}.
+     * 
+     * @param maxPoints Maximum number of points, 0 keeps the length of the series as it was rendered
+     */
+    public void setAppendWindow(int maxPoints) {
+    	if (maxPoints < 0) {
+    		throw new IllegalArgumentException("Window size can't be negative");
+    	}
+    	getState().appendWindow = maxPoints;
+    }
+
+    /**
+     * Get the maximum number of points the client keeps when points are appended
+     * 
+     * @return Maximum number of points, 0 if the length of the series is kept
+     */
+    public int getAppendWindow() {
+    	return getState(false).appendWindow;
+    }
+
+    /**
+     * Compute the summary statistics of the series (minimum, maximum, average, normal
+     * range and change) on the server and send them with the series, so that the 
+     * client does not need to compute them when rendering. The statistics are computed
+     * from the full series before downsampling.
+     * 
+     * Note: In {@link SparklineDrawMode#SVG} mode the sparkline computes the drawn minimum,
+     * maximum, average and normal range from the received series, the server statistics
+     * are used only for the display range and the trend. Use {@link SparklineDrawMode#CANVAS}
+     * to draw the server statistics.
+     * 
+     * The rows are sent again to the client, if the Grid is attached and the setting changes.
+     * 
+     * @param serverStatistics true for computing the statistics on the server
+     */
+    public void setServerStatistics(boolean serverStatistics) {
+    	if (getState(false).statisticsHeader == serverStatistics) return;
+    	getState().statisticsHeader = serverStatistics;
+    	// Rows sent earlier have the header or not depending on the previous setting
+    	if (isAttached() && getParentGrid() != null) {
+    		getParentGrid().getDataCommunicator().reset();
+    	}
+    }
+
+    /**
+     * Check whether the summary statistics are computed on the server
+     * 
+     * @return true if the statistics are computed on the server
+     */
+    public boolean isServerStatistics() {
+    	return getState(false).statisticsHeader;
+    }
+
+    @Override
+    public JsonValue encode(Object value) {
+    	if (value == null) {
+    		return Json.createNull();
+    	}
+    	SparklineSeries fullSeries = toSeries(value);
+    	SparklineStatistics stats = null;
+    	if (getState(false).statisticsHeader) {
+    		// Statistics of the full series, not of the downsampled one
+    		stats = new SparklineStatistics();
+    		for (int i = 0; i < fullSeries.length(); i++) {
+    			stats.add(fullSeries.getDouble(i));
+    		}
+    	}
+    	SparklineSeries series = fullSeries;
+    	int threshold = getDownsampling();
+    	if (threshold > 0 && series.length() > threshold) {
+    		series = SparklineSeries.of(SparklineDownsampler.downsample(series.toArray(), threshold));
+    		if (stats != null) stats.scaleIndexes(fullSeries.length(), series.length());
+    	}
+    	return encodeSeries(series, stats);
+    }
+
+    private static SparklineSeries toSeries(Object value) {
+    	if (value instanceof SparklineSeries) return (SparklineSeries) value;
+    	if (value instanceof double[]) return SparklineSeries.of((double[]) value);
+    	if (value instanceof float[]) return SparklineSeries.of((float[]) value);
+    	if (value instanceof int[]) return SparklineSeries.of((int[]) value);
+    	if (value instanceof Number[]) return SparklineSeries.of((Number[]) value);
+		throw new IllegalArgumentException("SparklineRenderer does not support values of type "+value.getClass().getName());
+    }
+
+    private static JsonArray encodeSeries(SparklineSeries series, SparklineStatistics stats) {
+    	JsonArray array = Json.createArray();
+    	int length = series.length();
+    	int offset = 0;
+    	if (stats != null) {
+    		double[] header = stats.toHeader();
+    		for (int i = 0; i < header.length; i++) {
+    			array.set(i, header[i]);
+    		}
+    		offset = header.length;
+    	}
+    	for (int i = 0; i < length; i++) {
+    		array.set(offset + i, series.getDouble(i));
+    	}
+    	return array;
+    }
+
     @Override
     protected SparklineRendererState getState() {
     	return (SparklineRendererState) super.getState();
     }
+
+    @Override
+    protected SparklineRendererState getState(boolean markAsDirty) {
+    	return (SparklineRendererState) super.getState(markAsDirty);
+    }
    
 }
\ No newline at end of file
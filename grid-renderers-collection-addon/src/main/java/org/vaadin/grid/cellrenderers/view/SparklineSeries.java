@@ -0,0 +1,128 @@
+package org.vaadin.grid.cellrenderers.view;
+
+import java.io.Serializable;
+
+/**
+ * Primitive series of values for {@link SparklineRenderer}. The renderer reads the
+ * values with {@link #getDouble(int)} without boxing, thus implementations can
+ * wrap e.g. ring buffers or off-heap storage.
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public interface SparklineSeries extends Serializable {
+
+	/**
+	 * Get the number of values in the series
+	 *
+	 * @return The length
+	 */
+	int length();
+
+	/**
+	 * Get the value at given index
+	 *
+	 * @param index Index between 0 and length - 1
+	 * @return The value
+	 */
+	double getDouble(int index);
+
+	/**
+	 * Get the values as array. The array may be the one backing the series, thus
+	 * it must not be modified.
+	 *
+	 * @return The values
+	 */
+	default double[] toArray() {
+		double[] values = new double[length()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = getDouble(i);
+		}
+		return values;
+	}
+
+	/**
+	 * Wrap array as series, the array is not copied
+	 *
+	 * @param values The values
+	 * @return The series
+	 */
+	static SparklineSeries of(final double[] values) {
+		return new SparklineSeries() {
+			@Override
+			public int length() {
+				return values.length;
+			}
+
+			@Override
+			public double getDouble(int index) {
+				return values[index];
+			}
+
+			@Override
+			public double[] toArray() {
+				return values;
+			}
+		};
+	}
+
+	/**
+	 * Wrap array as series, the array is not copied
+	 *
+	 * @param values The values
+	 * @return The series
+	 */
+	static SparklineSeries of(final float[] values) {
+		return new SparklineSeries() {
+			@Override
+			public int length() {
+				return values.length;
+			}
+
+			@Override
+			public double getDouble(int index) {
+				return values[index];
+			}
+		};
+	}
+
+	/**
+	 * Wrap array as series, the array is not copied
+	 *
+	 * @param values The values
+	 * @return The series
+	 */
+	static SparklineSeries of(final int[] values) {
+		return new SparklineSeries() {
+			@Override
+			public int length() {
+				return values.length;
+			}
+
+			@Override
+			public double getDouble(int index) {
+				return values[index];
+			}
+		};
+	}
+
+	/**
+	 * Wrap array as series, the array is not copied. Null values are read as zero.
+	 *
+	 * @param values The values
+	 * @return The series
+	 */
+	static SparklineSeries of(final Number[] values) {
+		return new SparklineSeries() {
+			@Override
+			public int length() {
+				return values.length;
+			}
+
+			@Override
+			public double getDouble(int index) {
+				Number value = values[index];
+				return value != null ? value.doubleValue() : 0;
+			}
+		};
+	}
+}
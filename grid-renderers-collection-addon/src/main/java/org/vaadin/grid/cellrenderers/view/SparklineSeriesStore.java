@@ -0,0 +1,155 @@
+package org.vaadin.grid.cellrenderers.view;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Store of time series for {@link SparklineRenderer}, which keeps the latest values
+ * of each item in a fixed capacity ring buffer of doubles. Values can be appended from
+ * background threads, writers of different items do not block each other. The series
+ * of an item is provided as {@link SparklineSeries} view, which the renderer encodes
+ * directly without copying.
+ *
+ * Use e.g. <code>grid.addColumn(host -&gt; store.getSeries(host.getId()), new SparklineRenderer&lt;&gt;())</code>
+ * and refresh the items, or use {@link SparklineRenderer#appendPoints(Object, double...)}, in
+ * UI.access when new values have been appended.
+ *
+ * @param <K> Type of the key identifying the series, e.g. the id of the item
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public class SparklineSeriesStore<K> implements Serializable {
+
+	private static class RingBuffer implements Serializable {
+		private final double[] values;
+		// Written after the values, thus readers see the values up to count
+		private volatile long count = 0;
+
+		private RingBuffer(int capacity) {
+			values = new double[capacity];
+		}
+
+		private synchronized void append(double value) {
+			long c = count;
+			values[(int) (c % values.length)] = value;
+			count = c + 1;
+		}
+
+		private synchronized void append(double[] newValues) {
+			long c = count;
+			for (double value : newValues) {
+				values[(int) (c % values.length)] = value;
+				c++;
+			}
+			count = c;
+		}
+	}
+
+	private static class SnapshotSeries implements SparklineSeries {
+		private final double[] values;
+		private final long start;
+		private final int length;
+
+		private SnapshotSeries(RingBuffer buffer) {
+			values = buffer.values;
+			long count = buffer.count;
+			length = (int) Math.min(count, values.length);
+			start = count - length;
+		}
+
+		@Override
+		public int length() {
+			return length;
+		}
+
+		@Override
+		public double getDouble(int index) {
+			if (index < 0 || index >= length) {
+				throw new IndexOutOfBoundsException("Index "+index+" out of series length "+length);
+			}
+			return values[(int) ((start + index) % values.length)];
+		}
+	}
+
+	private final ConcurrentMap<K,RingBuffer> buffers = new ConcurrentHashMap<>();
+	private final int capacity;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity Number of the latest values kept per series
+	 */
+	public SparklineSeriesStore(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Append value to the series, the oldest value is dropped when the capacity
+	 * is exceeded. This can be called from any thread.
+	 *
+	 * @param key Key of the series
+	 * @param value The value
+	 */
+	public void append(K key, double value) {
+		getBuffer(key).append(value);
+	}
+
+	/**
+	 * Append values to the series, the oldest values are dropped when the capacity
+	 * is exceeded. This can be called from any thread.
+	 *
+	 * @param key Key of the series
+	 * @param values The values
+	 */
+	public void append(K key, double... values) {
+		getBuffer(key).append(values);
+	}
+
+	private RingBuffer getBuffer(K key) {
+		return buffers.computeIfAbsent(key, k -> new RingBuffer(capacity));
+	}
+
+	/**
+	 * Get view of the current values of the series. The view is not a copy,
+	 * but its length and start are fixed when it is created.
+	 *
+	 * Note: If more values than the capacity are appended while the view is read,
+	 * the oldest values of the view are overwritten by the new ones.
+	 *
+	 * @param key Key of the series
+	 * @return View of the series, null if there is no series for the key
+	 */
+	public SparklineSeries getSeries(K key) {
+		RingBuffer buffer = buffers.get(key);
+		return buffer != null ? new SnapshotSeries(buffer) : null;
+	}
+
+	/**
+	 * Remove the series
+	 *
+	 * @param key Key of the series
+	 */
+	public void remove(K key) {
+		buffers.remove(key);
+	}
+
+	/**
+	 * Remove all series
+	 */
+	public void clear() {
+		buffers.clear();
+	}
+
+	/**
+	 * Get the number of the latest values kept per series
+	 *
+	 * @return The capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+}
@@ -0,0 +1,52 @@
+package org.vaadin.grid.cellrenderers.view;
+
+/**
+ * Image renderer for images which are read from {@link ImageSource}, e.g. files, 
+ * memory-mapped buffers or streams. The images are served by URL and read, 
+ * and optionally downscaled, only when the browser requests them, so that the
+ * image data does not need to be loaded to the heap when the rows are rendered.
+ * 
+ * Use e.g. <code>grid.addColumn(person -&gt; ImageSource.of(person.getPhotoPath()), new StreamImageRenderer&lt;&gt;(40,40))</code>
+ * 
+ * @author Tatu Lund - Vaadin
+ */
+public class StreamImageRenderer<T> extends AbstractImageRenderer<T,ImageSource> {
+
+    /**
+     * Constructor for a new StreamImageRenderer with parameter settings
+     * 
+     * @param width Set width of the image. Use -1 for default width.
+     * @param height Set height of the image. If this is more than default 
+     *               height of the grid row, you need to also style your grid'
+     *               row height to fit the image. Use -1 for the default.
+     */
+    public StreamImageRenderer(int width, int height) {
+        this(width, height, null);
+    }
+
+    /**
+     * Constructor for a new StreamImageRenderer with parameter settings
+     * 
+     * @param width Set width of the image. Use -1 for default width.
+     * @param height Set height of the image. If this is more than default 
+     *               height of the grid row, you need to also style your grid'
+     *               row height to fit the image. Use -1 for the default.
+     * @param mimeType Set alternative mimeType if needed for some reason.
+     */
+    public StreamImageRenderer(int width, int height, String mimeType) {
+        super(ImageSource.class, width, height, mimeType);
+        setServeByUrl(true);
+    }
+
+    /**
+     * Constructor for a new StreamImageRenderer with default parameters
+     */
+    public StreamImageRenderer() {
+        this(-1, -1, null);
+    }
+
+    @Override
+    protected ImageSource toImageSource(ImageSource value) {
+    	return value;
+    }
+}
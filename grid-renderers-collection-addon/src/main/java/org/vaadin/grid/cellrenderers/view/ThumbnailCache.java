@@ -0,0 +1,190 @@
+package org.vaadin.grid.cellrenderers.view;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Downscales images to thumbnails with javax.imageio and keeps the results in a cache
+ * bounded by the total size of the thumbnails in bytes. The least recently used thumbnail
+ * is evicted first. The same cache can be shared by several image renderers, by
+ * default they use the cache returned by {@link ThumbnailCache#getDefault()}.
+ *
+ * The cache is thread safe.
+ *
+ * @author Tatu Lund - Vaadin
+ */
+public class ThumbnailCache implements Serializable {
+
+	private static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+	private static ThumbnailCache defaultCache;
+
+	private final Map<String,byte[]> thumbnails = new LinkedHashMap<>(16, 0.75f, true);
+	private final long maxBytes;
+	private long totalBytes = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxBytes Maximum total size of the cached thumbnails in bytes
+	 */
+	public ThumbnailCache(long maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		}
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Get the application wide thumbnail cache, which is bounded to 32 MB
+	 *
+	 * @return The default cache
+	 */
+	public static synchronized ThumbnailCache getDefault() {
+		if (defaultCache == null) defaultCache = new ThumbnailCache(DEFAULT_MAX_BYTES);
+		return defaultCache;
+	}
+
+	/**
+	 * Get thumbnail of the image from the cache, or scale and cache it. The image is
+	 * scaled to fit the given size keeping its aspect ratio, it is never upscaled.
+	 * If the image cannot be decoded, the original is returned.
+	 *
+	 * @param image The original image data
+	 * @param width Target width in pixels, -1 for no limit
+	 * @param height Target height in pixels, -1 for no limit
+	 * @param format Informal name of the format, e.g. "png" or "jpeg"
+	 * @param quality Compression quality between 0 and 1, used if the format supports it
+	 * @return Image data of the thumbnail
+	 */
+	public byte[] getThumbnail(byte[] image, int width, int height, String format, float quality) {
+		byte[] thumbnail;
+		try {
+			thumbnail = getThumbnail(ImageSource.of(image), width, height, format, quality);
+		} catch (IOException e) {
+			Logger.getLogger(ThumbnailCache.class.getName()).log(Level.WARNING, "Image scaling failed", e);
+			thumbnail = null;
+		}
+		return thumbnail != null ? thumbnail : image;
+	}
+
+	/**
+	 * Get thumbnail of the image from the cache, or scale and cache it. The image is
+	 * decoded directly from the stream of the source, the original image data is not
+	 * read to the heap.
+	 *
+	 * @see ThumbnailCache#getThumbnail(byte[], int, int, String, float)
+	 *
+	 * @param image Source of the original image
+	 * @param width Target width in pixels, -1 for no limit
+	 * @param height Target height in pixels, -1 for no limit
+	 * @param format Informal name of the format, e.g. "png" or "jpeg"
+	 * @param quality Compression quality between 0 and 1, used if the format supports it
+	 * @return Image data of the thumbnail, null if the image cannot be decoded
+	 * @throws IOException If the image can't be read or encoded
+	 */
+	public byte[] getThumbnail(ImageSource image, int width, int height, String format, float quality) throws IOException {
+		String key = image.getId() + "/" + width + "x" + height + "/" + format + "/" + quality;
+		synchronized (this) {
+			byte[] thumbnail = thumbnails.get(key);
+			if (thumbnail != null) return thumbnail;
+		}
+		BufferedImage source;
+		try (InputStream in = image.openStream()) {
+			source = ImageIO.read(in);
+		}
+		if (source == null) return null;
+		byte[] thumbnail = scale(source, width, height, format, quality);
+		put(key, thumbnail);
+		return thumbnail;
+	}
+
+	private synchronized void put(String key, byte[] thumbnail) {
+		if (thumbnail.length > maxBytes) return;
+		byte[] old = thumbnails.put(key, thumbnail);
+		if (old != null) totalBytes -= old.length;
+		totalBytes += thumbnail.length;
+		Iterator<byte[]> iter = thumbnails.values().iterator();
+		while (totalBytes > maxBytes && iter.hasNext()) {
+			totalBytes -= iter.next().length;
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Remove all thumbnails from the cache
+	 */
+	public synchronized void clear() {
+		thumbnails.clear();
+		totalBytes = 0;
+	}
+
+	/**
+	 * Get the total size of the cached thumbnails
+	 *
+	 * @return Size in bytes
+	 */
+	public synchronized long getTotalBytes() {
+		return totalBytes;
+	}
+
+	private static byte[] scale(BufferedImage source, int width, int height, String format, float quality) throws IOException {
+		double scale = 1.0;
+		if (width > 0) scale = Math.min(scale, (double) width / source.getWidth());
+		if (height > 0) scale = Math.min(scale, (double) height / source.getHeight());
+		int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+		int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+		if (!writers.hasNext()) {
+			throw new IOException("No image writer for format "+format);
+		}
+		ImageWriter writer = writers.next();
+
+		// Formats like jpeg do not support alpha channel
+		boolean alpha = !"jpeg".equalsIgnoreCase(format) && !"jpg".equalsIgnoreCase(format)
+				&& source.getColorModel().hasAlpha();
+		BufferedImage target = new BufferedImage(targetWidth, targetHeight,
+				alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = target.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+		} finally {
+			g.dispose();
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(ios);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			if (param.canWriteCompressed()) {
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				if (param.getCompressionType() == null && param.getCompressionTypes().length > 0) {
+					param.setCompressionType(param.getCompressionTypes()[0]);
+				}
+				param.setCompressionQuality(quality);
+			}
+			writer.write(null, new IIOImage(target, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+}